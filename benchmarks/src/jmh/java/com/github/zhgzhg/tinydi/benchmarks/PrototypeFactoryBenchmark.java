@@ -0,0 +1,67 @@
+package com.github.zhgzhg.tinydi.benchmarks;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+import com.github.zhgzhg.tinydi.benchmarks.components.PrototypeComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflective instantiation of prototype components with the method handle based one used by TinyDI.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrototypeFactoryBenchmark {
+
+    private Constructor<PrototypeComponent> constructor;
+    private Object[] args;
+    private MethodHandle factory;
+    private TinyDI tinyDI;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        this.constructor = PrototypeComponent.class.getDeclaredConstructor(String.class, int.class);
+        this.constructor.setAccessible(true);
+        this.args = new Object[] { "payload", 42 };
+
+        MethodHandle handle = MethodHandles.lookup().unreflectConstructor(this.constructor);
+        this.factory = MethodHandles.insertArguments(handle, 0, this.args).asType(MethodType.methodType(Object.class));
+
+        this.tinyDI = TinyDI.config()
+                .basePackages(PrototypeComponent.class.getPackageName())
+                .configure();
+        this.tinyDI.run();
+    }
+
+    @Benchmark
+    public Object reflectiveConstructor() throws ReflectiveOperationException {
+        return this.constructor.newInstance(this.args);
+    }
+
+    @Benchmark
+    public Object boundMethodHandle() throws Throwable {
+        return (Object) this.factory.invokeExact();
+    }
+
+    @Benchmark
+    public Object tinyDIPrototype() {
+        return this.tinyDI.componentFor("PrototypeComponent");
+    }
+}
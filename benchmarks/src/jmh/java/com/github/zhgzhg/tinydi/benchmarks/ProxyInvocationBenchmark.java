@@ -0,0 +1,82 @@
+package com.github.zhgzhg.tinydi.benchmarks;
+
+import com.github.zhgzhg.tinydi.dynamic.RecordedAnnotation;
+import com.github.zhgzhg.tinydi.dynamic.TinyDynamicDI;
+import com.github.zhgzhg.tinydi.meta.annotations.Recorded;
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Measures the overhead of calling a programmatically registered component through the proxies created by
+ * {@link TinyDynamicDI#attachRecordedAnnotation}, compared with a direct call. Both the generated, directly delegating proxy and the
+ * reflective {@link Proxy} fallback are measured, as well as the unwrapping via {@link TinyDynamicDI#realInstance}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProxyInvocationBenchmark {
+
+    /**
+     * The proxied component.
+     */
+    public static class Counter implements IntSupplier {
+        private int value;
+
+        @Override
+        public int getAsInt() {
+            return ++this.value;
+        }
+    }
+
+    private IntSupplier direct;
+    private IntSupplier generatedProxy;
+    private IntSupplier reflectiveProxy;
+
+    @Setup
+    public void setup() {
+        Counter counter = new Counter();
+        Recorded recorded = new RecordedAnnotation("counter", ScopeDI.SINGLETON);
+
+        this.direct = counter;
+        this.generatedProxy = TinyDynamicDI.attachRecordedAnnotation(() -> counter, Counter.class, recorded);
+        this.reflectiveProxy = (IntSupplier) Proxy.newProxyInstance(this.getClass().getClassLoader(),
+                new Class<?>[] { IntSupplier.class, Recorded.class },
+                new TinyDynamicDI.TransparentInvocationHandler(() -> counter, Counter.class, recorded));
+    }
+
+    @Benchmark
+    public int directCall() {
+        return this.direct.getAsInt();
+    }
+
+    @Benchmark
+    public int generatedProxyCall() {
+        return this.generatedProxy.getAsInt();
+    }
+
+    @Benchmark
+    public int reflectiveProxyCall() {
+        return this.reflectiveProxy.getAsInt();
+    }
+
+    @Benchmark
+    public Object realInstance() {
+        return TinyDynamicDI.realInstance(this.generatedProxy);
+    }
+}
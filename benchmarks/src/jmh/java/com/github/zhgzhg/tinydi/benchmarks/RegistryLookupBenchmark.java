@@ -0,0 +1,158 @@
+package com.github.zhgzhg.tinydi.benchmarks;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+import com.github.zhgzhg.tinydi.fixtures.Synthetic;
+import com.github.zhgzhg.tinydi.fixtures.SyntheticComponent;
+import com.github.zhgzhg.tinydi.fixtures.SyntheticGraph;
+import com.github.zhgzhg.tinydi.build.ComponentIndex;
+import com.github.zhgzhg.tinydi.meta.descriptors.ComponentDescriptor;
+import com.github.zhgzhg.tinydi.meta.descriptors.InvokableDescriptor;
+import com.github.zhgzhg.tinydi.meta.descriptors.ParameterDescriptor;
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the component lookups by name, by class, and by interface in registries of different sizes. The lookups by name are
+ * compared with the same lookups in a registry which isn't frozen yet, and in a bare {@link ConcurrentHashMap}, which is what the
+ * registry is backed by before being frozen. The unfrozen registry belongs to a context whose {@link TinyDI#run()} is held on its
+ * last component until the tear down, after all other components have been registered. The names are looked up in a pseudo-random
+ * order to defeat the caches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryLookupBenchmark {
+
+    @Param({ "10", "100", "1000", "10000" })
+    public int components;
+
+    private String[] names;
+    private int mask;
+    private int next;
+
+    private TinyDI tinyDI;
+    private TinyDI unfrozenTinyDI;
+    private Thread unfrozenStartup;
+    private CountDownLatch unfrozenRelease;
+    private ConcurrentMap<String, Object> map;
+
+    @Setup
+    public void setup() throws InterruptedException {
+        SyntheticGraph graph = SyntheticGraph.builder().components(this.components).prototypeRatio(0).build();
+
+        this.tinyDI = TinyDI.config()
+                .precompiledIndex(graph)
+                .configure();
+        this.tinyDI.run();
+
+        this.map = new ConcurrentHashMap<>();
+        for (int i = 0; i < this.components; ++i) {
+            String name = SyntheticGraph.componentName(i);
+            this.map.put(name, this.tinyDI.componentFor(name));
+        }
+
+        this.startUnfrozen(graph);
+
+        int size = Integer.highestOneBit(this.components);
+        this.names = new String[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; ++i) {
+            this.names[i] = SyntheticGraph.componentName((i * 7919) % this.components);
+        }
+    }
+
+    private void startUnfrozen(SyntheticGraph graph) throws InterruptedException {
+        CountDownLatch reached = new CountDownLatch(1);
+        this.unfrozenRelease = new CountDownLatch(1);
+
+        this.unfrozenTinyDI = TinyDI.config()
+                .precompiledIndex(graph, gate(this.components, reached, this.unfrozenRelease))
+                .configure();
+        this.unfrozenStartup = new Thread(this.unfrozenTinyDI::run, "unfrozen-startup");
+        this.unfrozenStartup.start();
+        reached.await();
+    }
+
+    /**
+     * Creates an index with a component depending on all synthetic ones, whose construction blocks until released.
+     */
+    private static ComponentIndex gate(int components, CountDownLatch reached, CountDownLatch release) {
+        String className = SyntheticComponent.class.getName();
+        List<ParameterDescriptor> parameters = new ArrayList<>(components);
+        for (int i = 0; i < components; ++i) {
+            parameters.add(new ParameterDescriptor(className, SyntheticGraph.componentName(i)));
+        }
+
+        InvokableDescriptor constructor = new InvokableDescriptor(className, InvokableDescriptor.CONSTRUCTOR_NAME, false, className,
+                parameters, "gate", ScopeDI.SINGLETON, args -> {
+                    reached.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new SyntheticComponent("gate", args);
+                });
+
+        List<ComponentDescriptor> result = Collections.singletonList(
+                new ComponentDescriptor(className, ComponentDescriptor.Kind.SUPERVISED, constructor, Collections.emptyList()));
+        return () -> result;
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        this.unfrozenRelease.countDown();
+        this.unfrozenStartup.join();
+    }
+
+    private String nextName() {
+        return this.names[this.next++ & this.mask];
+    }
+
+    @Benchmark
+    public Object byName() {
+        return this.tinyDI.componentFor(this.nextName());
+    }
+
+    @Benchmark
+    public Object byNameUnfrozen() {
+        return this.unfrozenTinyDI.componentFor(this.nextName());
+    }
+
+    @Benchmark
+    public Object byClass() {
+        return this.tinyDI.componentFor(SyntheticComponent.class);
+    }
+
+    @Benchmark
+    public Object byInterface() {
+        return this.tinyDI.componentFor(Synthetic.class);
+    }
+
+    @Benchmark
+    public Object concurrentHashMap() {
+        return this.map.get(this.nextName());
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.zhgzhg.tinydi.benchmarks;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the lean and the full classpath scans of the whole benchmark classpath (TinyDI, ClassGraph, JMH, and their dependencies)
+ * by scan time, and by the size of the produced static JSON scan, reported as the <i>jsonChars</i> secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ScanModeBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean leanScan;
+
+    /**
+     * Holds the size of the last produced JSON scan.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ScanSize {
+        public long jsonChars;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.jsonChars = 0;
+        }
+    }
+
+    @Benchmark
+    public String staticScan(ScanSize scanSize) {
+        String json = TinyDI.config()
+                .leanScan(this.leanScan)
+                .configureForStaticScan();
+
+        scanSize.jsonChars = json.length();
+        return json;
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.zhgzhg.tinydi.benchmarks;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+import com.github.zhgzhg.tinydi.benchmarks.components.PrototypeComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the complete startup of a TinyDI context, from the configuration to the end of {@link TinyDI#run()}, with runtime
+ * classpath scanning, and with static JSON and binary scans produced in advance, as the build time scan would do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    @Param({ "runtime", "json", "binary" })
+    public String scan;
+
+    private String basePackage;
+    private String jsonScan;
+    private byte[] binaryScan;
+
+    @Setup
+    public void setup() {
+        this.basePackage = PrototypeComponent.class.getPackageName();
+        this.jsonScan = TinyDI.config().basePackages(this.basePackage).configureForStaticScan();
+        this.binaryScan = TinyDI.config().basePackages(this.basePackage).configureForStaticBinaryScan();
+    }
+
+    @Benchmark
+    public TinyDI startup() {
+        TinyDI.Config config = TinyDI.config();
+
+        if ("json".equals(this.scan)) {
+            config.staticScan(this.jsonScan);
+        } else if ("binary".equals(this.scan)) {
+            config.staticBinaryScan(new ByteArrayInputStream(this.binaryScan));
+        } else {
+            config.basePackages(this.basePackage);
+        }
+
+        TinyDI tinyDI = config.configure();
+        tinyDI.run();
+        return tinyDI;
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.zhgzhg.tinydi.benchmarks;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+import com.github.zhgzhg.tinydi.fixtures.SyntheticGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the dependency resolution and instantiation of synthetic component graphs of different sizes, with 20% prototypes and up
+ * to 3 dependencies per component. The scanning is excluded, so the time per component should stay about the same as the graph
+ * grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SyntheticStartupBenchmark {
+
+    @Param({ "10", "100", "1000", "10000" })
+    public int components;
+
+    private SyntheticGraph graph;
+
+    @Setup
+    public void setup() {
+        this.graph = SyntheticGraph.builder().components(this.components).prototypeRatio(0.2).build();
+    }
+
+    @Benchmark
+    public TinyDI startup() {
+        TinyDI tinyDI = TinyDI.config()
+                .precompiledIndex(this.graph)
+                .configure();
+        tinyDI.run();
+        return tinyDI;
+    }
+}
@@ -0,0 +1,18 @@
+package com.github.zhgzhg.tinydi.benchmarks.components;
+
+import com.github.zhgzhg.tinydi.meta.annotations.Recorded;
+import com.github.zhgzhg.tinydi.meta.annotations.Registrar;
+
+@Registrar
+public class BenchmarkRegistrar {
+
+    @Recorded
+    public String name() {
+        return "payload";
+    }
+
+    @Recorded
+    public int size() {
+        return 42;
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.zhgzhg.tinydi.benchmarks.components;
+
+import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+
+@Supervised(scope = ScopeDI.PROTOTYPE)
+public class PrototypeComponent {
+    private final String name;
+    private final int size;
+
+    public PrototypeComponent(String name, int size) {
+        this.name = name;
+        this.size = size;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
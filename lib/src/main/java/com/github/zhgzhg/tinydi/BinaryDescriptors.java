@@ -0,0 +1,223 @@
+package com.github.zhgzhg.tinydi;
+
+import com.github.zhgzhg.tinydi.meta.descriptors.ComponentDescriptor;
+import com.github.zhgzhg.tinydi.meta.descriptors.InvokableDescriptor;
+import com.github.zhgzhg.tinydi.meta.descriptors.ParameterDescriptor;
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary serialization of {@link ComponentDescriptor}s used for static scans. The layout is:
+ * <pre>
+ * magic "TDI", version byte
+ * string table:  count, (modified UTF-8 string)*
+ * components:    count, (class name, kind, has constructor, [invokable], record count, invokable*)*
+ * invokable:     declaring class, method name, is static, result type, parameter count, parameter*, component name, scope
+ * parameter:     type, known as, type argument count, type argument*
+ * </pre>
+ * Counts and string references are unsigned variable-length integers. Optional strings are referenced with index + 1, where 0 is null.
+ */
+final class BinaryDescriptors {
+
+    private static final byte[] MAGIC = { 'T', 'D', 'I' };
+    private static final int VERSION = 1;
+
+    private static final ComponentDescriptor.Kind[] KINDS = ComponentDescriptor.Kind.values();
+    private static final ScopeDI[] SCOPES = ScopeDI.values();
+
+    private BinaryDescriptors() { }
+
+    /**
+     * Serializes component descriptors.
+     * @param components The descriptors to serialize.
+     * @param target The stream to write to. It won't be closed.
+     * @throws IOException If writing fails.
+     */
+    static void write(List<ComponentDescriptor> components, OutputStream target) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (ComponentDescriptor component : components) {
+            strings.putIfAbsent(component.getClassName(), strings.size());
+            if (component.getConstructor() != null) {
+                collectStrings(component.getConstructor(), strings);
+            }
+            for (InvokableDescriptor record : component.getRecords()) {
+                collectStrings(record, strings);
+            }
+        }
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target));
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+
+        writeVarInt(out, strings.size());
+        for (String string : strings.keySet()) {
+            out.writeUTF(string);
+        }
+
+        writeVarInt(out, components.size());
+        for (ComponentDescriptor component : components) {
+            writeVarInt(out, strings.get(component.getClassName()));
+            out.writeByte(component.getKind().ordinal());
+            out.writeBoolean(component.getConstructor() != null);
+            if (component.getConstructor() != null) {
+                writeInvokable(out, component.getConstructor(), strings);
+            }
+            writeVarInt(out, component.getRecords().size());
+            for (InvokableDescriptor record : component.getRecords()) {
+                writeInvokable(out, record, strings);
+            }
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Deserializes component descriptors, streaming them from the source.
+     * @param source The stream to read from. It won't be closed.
+     * @return Nonnull list of the read descriptors.
+     * @throws IOException If reading fails.
+     * @throws IllegalArgumentException If the source isn't in the expected format.
+     */
+    static List<ComponentDescriptor> read(InputStream source) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(source));
+
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        for (int i = 0; i < MAGIC.length; ++i) {
+            if (magic[i] != MAGIC[i]) {
+                throw new IllegalArgumentException("Not a TinyDI binary static scan!");
+            }
+        }
+
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported TinyDI binary static scan version " + version);
+        }
+
+        String[] strings = new String[readVarInt(in)];
+        for (int i = 0; i < strings.length; ++i) {
+            strings[i] = in.readUTF();
+        }
+
+        int componentsCount = readVarInt(in);
+        List<ComponentDescriptor> components = new ArrayList<>(componentsCount);
+
+        for (int i = 0; i < componentsCount; ++i) {
+            String className = strings[readVarInt(in)];
+            ComponentDescriptor.Kind kind = KINDS[in.readUnsignedByte()];
+            InvokableDescriptor constructor = (in.readBoolean() ? readInvokable(in, strings) : null);
+
+            int recordsCount = readVarInt(in);
+            List<InvokableDescriptor> records = new ArrayList<>(recordsCount);
+            for (int j = 0; j < recordsCount; ++j) {
+                records.add(readInvokable(in, strings));
+            }
+
+            components.add(new ComponentDescriptor(className, kind, constructor, Collections.unmodifiableList(records)));
+        }
+
+        return components;
+    }
+
+    private static void collectStrings(InvokableDescriptor invokable, Map<String, Integer> strings) {
+        strings.putIfAbsent(invokable.getDeclaringClassName(), strings.size());
+        strings.putIfAbsent(invokable.getMethodName(), strings.size());
+        strings.putIfAbsent(invokable.getResultTypeName(), strings.size());
+        strings.putIfAbsent(invokable.getComponentName(), strings.size());
+        for (ParameterDescriptor param : invokable.getParameters()) {
+            strings.putIfAbsent(param.getTypeName(), strings.size());
+            if (param.getKnownAs() != null) {
+                strings.putIfAbsent(param.getKnownAs(), strings.size());
+            }
+            for (String typeArgument : param.getTypeArguments()) {
+                strings.putIfAbsent(typeArgument, strings.size());
+            }
+        }
+    }
+
+    private static void writeInvokable(DataOutputStream out, InvokableDescriptor invokable, Map<String, Integer> strings)
+            throws IOException {
+
+        writeVarInt(out, strings.get(invokable.getDeclaringClassName()));
+        writeVarInt(out, strings.get(invokable.getMethodName()));
+        out.writeBoolean(invokable.isStatic());
+        writeVarInt(out, strings.get(invokable.getResultTypeName()));
+
+        writeVarInt(out, invokable.getParameters().size());
+        for (ParameterDescriptor param : invokable.getParameters()) {
+            writeVarInt(out, strings.get(param.getTypeName()));
+            writeVarInt(out, (param.getKnownAs() == null ? 0 : strings.get(param.getKnownAs()) + 1));
+            writeVarInt(out, param.getTypeArguments().size());
+            for (String typeArgument : param.getTypeArguments()) {
+                writeVarInt(out, strings.get(typeArgument));
+            }
+        }
+
+        writeVarInt(out, strings.get(invokable.getComponentName()));
+        out.writeByte(invokable.getScope().ordinal());
+    }
+
+    private static InvokableDescriptor readInvokable(DataInputStream in, String[] strings) throws IOException {
+        String declaringClassName = strings[readVarInt(in)];
+        String methodName = strings[readVarInt(in)];
+        boolean isStatic = in.readBoolean();
+        String resultTypeName = strings[readVarInt(in)];
+
+        int parametersCount = readVarInt(in);
+        List<ParameterDescriptor> parameters = new ArrayList<>(parametersCount);
+        for (int i = 0; i < parametersCount; ++i) {
+            String typeName = strings[readVarInt(in)];
+            int knownAs = readVarInt(in);
+
+            List<String> typeArguments = Collections.emptyList();
+            int typeArgumentsCount = readVarInt(in);
+            if (typeArgumentsCount > 0) {
+                String[] names = new String[typeArgumentsCount];
+                for (int j = 0; j < typeArgumentsCount; ++j) {
+                    names[j] = strings[readVarInt(in)];
+                }
+                typeArguments = List.of(names);
+            }
+
+            parameters.add(new ParameterDescriptor(typeName, (knownAs == 0 ? null : strings[knownAs - 1]), typeArguments));
+        }
+
+        String componentName = strings[readVarInt(in)];
+        ScopeDI scope = SCOPES[in.readUnsignedByte()];
+
+        return new InvokableDescriptor(declaringClassName, methodName, isStatic, resultTypeName,
+                Collections.unmodifiableList(parameters), componentName, scope, null);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed TinyDI binary static scan!");
+    }
+}
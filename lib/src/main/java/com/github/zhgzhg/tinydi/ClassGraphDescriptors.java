@@ -0,0 +1,261 @@
+package com.github.zhgzhg.tinydi;
+
+import com.github.zhgzhg.tinydi.meta.annotations.KnownAs;
+import com.github.zhgzhg.tinydi.meta.annotations.Recorded;
+import com.github.zhgzhg.tinydi.meta.annotations.Registrar;
+import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
+import com.github.zhgzhg.tinydi.meta.descriptors.ComponentDescriptor;
+import com.github.zhgzhg.tinydi.meta.descriptors.InvokableDescriptor;
+import com.github.zhgzhg.tinydi.meta.descriptors.ParameterDescriptor;
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+import io.github.classgraph.AnnotationEnumValue;
+import io.github.classgraph.AnnotationInfo;
+import io.github.classgraph.AnnotationInfoList;
+import io.github.classgraph.ArrayTypeSignature;
+import io.github.classgraph.BaseTypeSignature;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ClassRefTypeSignature;
+import io.github.classgraph.MethodInfo;
+import io.github.classgraph.MethodInfoList;
+import io.github.classgraph.MethodParameterInfo;
+import io.github.classgraph.ReferenceTypeSignature;
+import io.github.classgraph.ScanResult;
+import io.github.classgraph.TypeArgument;
+import io.github.classgraph.TypeSignature;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Extracts {@link ComponentDescriptor}s out of ClassGraph's {@link ScanResult}, so the latter can be closed before the instantiation
+ * of the components. No classes are loaded during the extraction.
+ */
+final class ClassGraphDescriptors {
+
+    private static final String REGISTRAR_ANNOTATION_NAME = Registrar.class.getCanonicalName();
+    private static final String RECORDED_ANNOTATION_NAME = Recorded.class.getCanonicalName();
+    private static final String SUPERVISED_ANNOTATION_NAME = Supervised.class.getCanonicalName();
+    private static final String KNOWN_AS_ANNOTATION_NAME = KnownAs.class.getCanonicalName();
+
+    private static final List<String> CLASS_LVL_COMPONENT_ANNOTATIONS_FOR_REGISTRATION =
+            Arrays.asList(REGISTRAR_ANNOTATION_NAME, SUPERVISED_ANNOTATION_NAME);
+
+    private ClassGraphDescriptors() { }
+
+    /**
+     * Describes all @{@link Registrar} and @{@link Supervised} classes found in a scan, and the unannotated concrete classes from the
+     * scan their constructors depend on, directly or through other such classes.
+     * @param scanResult The scan to extract the information from.
+     * @return Nonnull list with the registrars first, followed by the supervised classes, both in scan order, and then by the
+     * {@link ComponentDescriptor.Kind#DEPENDENCY dependencies}.
+     */
+    static List<ComponentDescriptor> extract(ScanResult scanResult) {
+        List<ComponentDescriptor> result = new ArrayList<>();
+        Set<String> described = new HashSet<>();
+
+        for (ClassInfo classInfo : scanResult.getClassesWithAnnotation(REGISTRAR_ANNOTATION_NAME)) {
+            result.add(describe(classInfo, ComponentDescriptor.Kind.REGISTRAR));
+            described.add(classInfo.getName());
+        }
+
+        for (ClassInfo classInfo : scanResult.getClassesWithAnnotation(SUPERVISED_ANNOTATION_NAME)) {
+            result.add(describe(classInfo, ComponentDescriptor.Kind.SUPERVISED));
+            described.add(classInfo.getName());
+        }
+
+        // the appended dependencies are visited too, so their own dependencies get described
+        for (int i = 0; i < result.size(); ++i) {
+            InvokableDescriptor constructor = result.get(i).getConstructor();
+            if (constructor == null) {
+                continue;
+            }
+
+            for (ParameterDescriptor param : constructor.getParameters()) {
+                ClassInfo classInfo = scanResult.getClassInfo(param.getTypeName());
+                if (classInfo != null && !classInfo.isInterface() && !classInfo.isAnnotation() && !classInfo.isEnum()
+                        && !classInfo.isAbstract() && described.add(classInfo.getName())) {
+                    result.add(describe(classInfo, ComponentDescriptor.Kind.DEPENDENCY));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static ComponentDescriptor describe(ClassInfo classInfo, ComponentDescriptor.Kind kind) {
+        MethodInfo ctor = selectTheEasiestConstructor(classInfo);
+
+        List<InvokableDescriptor> records = new ArrayList<>();
+        if (kind == ComponentDescriptor.Kind.REGISTRAR) {
+            for (MethodInfo methodInfo : classInfo.getMethodInfo()) {
+                if (methodInfo.getAnnotationInfo(RECORDED_ANNOTATION_NAME) != null) {
+                    records.add(describe(methodInfo));
+                }
+            }
+        }
+
+        return new ComponentDescriptor(classInfo.getName(), kind, (ctor == null ? null : describe(ctor)),
+                Collections.unmodifiableList(records));
+    }
+
+    private static InvokableDescriptor describe(MethodInfo methodInfo) {
+        List<ParameterDescriptor> parameters = Arrays.stream(methodInfo.getParameterInfo())
+                .map(param -> new ParameterDescriptor(
+                        typeName(param.getTypeDescriptor()), obtainKnownAsName(param), obtainTypeArgumentNames(param)))
+                .collect(Collectors.toList());
+
+        String resultTypeName = (methodInfo.isConstructor()
+                ? methodInfo.getClassName()
+                : typeName(methodInfo.getTypeDescriptor().getResultType()));
+
+        return new InvokableDescriptor(
+                methodInfo.getClassName(),
+                (methodInfo.isConstructor() ? InvokableDescriptor.CONSTRUCTOR_NAME : methodInfo.getName()),
+                methodInfo.isStatic(),
+                resultTypeName,
+                Collections.unmodifiableList(parameters),
+                obtainComponentName(methodInfo),
+                obtainComponentInstantiationMode(methodInfo),
+                null
+        );
+    }
+
+    private static MethodInfo selectTheEasiestConstructor(ClassInfo classInfo) {
+
+        MethodInfoList methods = classInfo.getDeclaredConstructorInfo();
+
+        if (methods == null || methods.isEmpty()) return null;
+
+        return methods.stream()
+                .filter(method -> {
+                    // public or package private constructor
+
+                    int modifiers = method.getModifiers();
+                    return (Modifier.isPublic(modifiers)
+                            || !(Modifier.isPublic(modifiers) || Modifier.isPrivate(modifiers) || Modifier.isProtected(modifiers)));
+                })
+                .min(Comparator.comparingInt(methodInfo -> methodInfo.getParameterInfo().length))
+                .orElse(null);
+    }
+
+    private static ScopeDI obtainComponentInstantiationMode(MethodInfo methodInfo) {
+        AnnotationInfo annotationInfo;
+
+        if (methodInfo.isConstructor()) {
+            annotationInfo = methodInfo.getClassInfo().getAnnotationInfo(SUPERVISED_ANNOTATION_NAME);
+            if (annotationInfo == null) {
+                return ScopeDI.SINGLETON;
+            }
+        } else {
+            annotationInfo = methodInfo.getAnnotationInfo(RECORDED_ANNOTATION_NAME);
+        }
+
+        // the default value is unknown if the annotation class is outside the scanned classpath
+        AnnotationEnumValue scope = (AnnotationEnumValue) annotationInfo.getParameterValues().getValue("scope");
+        return (scope == null ? ScopeDI.SINGLETON : ScopeDI.valueOf(scope.getValueName()));
+    }
+
+    private static String obtainComponentName(MethodInfo methodInfo) {
+
+        if (methodInfo.isConstructor()) {
+            ClassInfo classInfo = methodInfo.getClassInfo();
+
+            String componentName = null;
+
+            for (String annotationName : CLASS_LVL_COMPONENT_ANNOTATIONS_FOR_REGISTRATION) {
+                AnnotationInfo annotationInfo = classInfo.getAnnotationInfo(annotationName);
+                if (annotationInfo != null) {
+                    componentName = (String) annotationInfo.getParameterValues().getValue("value");
+                    break;
+                }
+            }
+
+            return (componentName == null || componentName.isBlank() ? classInfo.getSimpleName() : componentName);
+        }
+
+        AnnotationInfo annotationInfo = methodInfo.getAnnotationInfo(RECORDED_ANNOTATION_NAME);
+        String componentName = (String) annotationInfo.getParameterValues().getValue("value");
+
+        return (componentName == null || componentName.isBlank() ? methodInfo.getName() : componentName);
+    }
+
+    private static String obtainKnownAsName(MethodParameterInfo param) {
+        AnnotationInfoList typeAnnotationInfo = param.getAnnotationInfo();
+        if (typeAnnotationInfo == null) {
+            return null;
+        }
+
+        AnnotationInfoList preferredComponentNameList = typeAnnotationInfo
+                .filter(annotationInfo -> KNOWN_AS_ANNOTATION_NAME.equals(annotationInfo.getClassInfo().getName()));
+
+        if (preferredComponentNameList.isEmpty()) {
+            return null;
+        }
+
+        return (String) preferredComponentNameList.get(0)
+                .getParameterValues(false)
+                .getValue("value");
+    }
+
+    private static List<String> obtainTypeArgumentNames(MethodParameterInfo param) {
+        // the generic signature is absent for non-parameterized types
+        TypeSignature typeSignature = param.getTypeSignature();
+        if (!(typeSignature instanceof ClassRefTypeSignature)) {
+            return Collections.emptyList();
+        }
+
+        List<TypeArgument> typeArguments = ((ClassRefTypeSignature) typeSignature).getTypeArguments();
+        if (typeArguments == null || typeArguments.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> result = new ArrayList<>(typeArguments.size());
+        for (TypeArgument typeArgument : typeArguments) {
+            ReferenceTypeSignature bound = typeArgument.getTypeSignature();
+            boolean isUpperBound = (typeArgument.getWildcard() == TypeArgument.Wildcard.NONE
+                    || typeArgument.getWildcard() == TypeArgument.Wildcard.EXTENDS);
+
+            result.add(bound != null && isUpperBound ? typeName(bound) : Object.class.getName());
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Converts an erased type signature to a binary class name as returned by {@link Class#getName()}.
+     * @param typeSignature The type descriptor to convert.
+     * @return The binary name of the type.
+     */
+    private static String typeName(TypeSignature typeSignature) {
+        if (typeSignature instanceof BaseTypeSignature) {
+            return ((BaseTypeSignature) typeSignature).getType().getName();
+        }
+
+        if (typeSignature instanceof ClassRefTypeSignature) {
+            return ((ClassRefTypeSignature) typeSignature).getFullyQualifiedClassName();
+        }
+
+        if (typeSignature instanceof ArrayTypeSignature) {
+            ArrayTypeSignature arrayTypeSignature = (ArrayTypeSignature) typeSignature;
+            StringBuilder result = new StringBuilder("[".repeat(arrayTypeSignature.getNumDimensions()));
+
+            TypeSignature elementType = arrayTypeSignature.getElementTypeSignature();
+            if (elementType instanceof BaseTypeSignature) {
+                // the binary name of a primitive array is '[' followed by the primitive's descriptor
+                result.append(Array.newInstance(((BaseTypeSignature) elementType).getType(), 0).getClass().getName().substring(1));
+            } else {
+                result.append('L').append(typeName(elementType)).append(';');
+            }
+            return result.toString();
+        }
+
+        return Object.class.getName();
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.zhgzhg.tinydi;
+
+import com.github.zhgzhg.tinydi.metrics.ComponentMetrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime metrics counters of a single component, attached to its {@link ComponentHolder} when the metrics are activated. The
+ * {@link LongAdder} counters are striped, so concurrent lookups from many threads don't contend on a single memory location.
+ */
+final class ComponentCounters {
+
+    final LongAdder lookupsByName = new LongAdder();
+    final LongAdder lookupsByType = new LongAdder();
+    final LongAdder prototypeCreations = new LongAdder();
+    final LongAdder instanceCreations = new LongAdder();
+
+    /**
+     * Reads the current values of the counters.
+     * @param componentName The name of the component.
+     * @return New snapshot.
+     */
+    ComponentMetrics snapshot(String componentName) {
+        return new ComponentMetrics(componentName, this.lookupsByName.sum(), this.lookupsByType.sum(), this.prototypeCreations.sum(),
+                this.instanceCreations.sum());
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.zhgzhg.tinydi;
+
+import lombok.SneakyThrows;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Factory of component instances, compiled once into a method handle with already bound arguments. Unlike
+ * {@link Constructor#newInstance(Object...)} and {@link Method#invoke(Object, Object...)} the invocation performs no access checks,
+ * and no argument array boxing, thus it can be inlined by the JIT compiler.
+ */
+final class ComponentFactory implements Supplier<Object> {
+
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class);
+    private static final MethodHandle APPLY = applyHandle();
+
+    private final MethodHandle factory;
+
+    private ComponentFactory(MethodHandle factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Compiles a factory invoking a constructor with fixed arguments.
+     * @param constructor The constructor to invoke. It must be accessible.
+     * @param args The arguments the constructor will be invoked with.
+     * @return A new factory instance.
+     */
+    @SneakyThrows
+    static ComponentFactory of(Constructor<?> constructor, Object[] args) {
+        MethodHandle handle = MethodHandles.lookup().unreflectConstructor(constructor).asFixedArity();
+        return new ComponentFactory(MethodHandles.insertArguments(handle, 0, args).asType(FACTORY_TYPE));
+    }
+
+    /**
+     * Compiles a factory invoking a method with fixed arguments.
+     * @param method The method to invoke. It must be accessible.
+     * @param target The instance on which the method will be invoked. Ignored for static methods.
+     * @param args The arguments the method will be invoked with.
+     * @return A new factory instance.
+     */
+    @SneakyThrows
+    static ComponentFactory of(Method method, Object target, Object[] args) {
+        MethodHandle handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+        if (!Modifier.isStatic(method.getModifiers())) {
+            handle = handle.bindTo(target);
+        }
+        return new ComponentFactory(MethodHandles.insertArguments(handle, 0, args).asType(FACTORY_TYPE));
+    }
+
+    /**
+     * Compiles a factory applying a precompiled direct factory function with fixed arguments.
+     * @param function The function creating the instance out of the arguments.
+     * @param args The arguments the function will be applied to.
+     * @return A new factory instance.
+     */
+    static ComponentFactory of(Function<Object[], Object> function, Object[] args) {
+        return new ComponentFactory(APPLY.bindTo(function).bindTo(args));
+    }
+
+    @SneakyThrows
+    @Override
+    public Object get() {
+        return (Object) this.factory.invokeExact();
+    }
+
+    @SneakyThrows
+    private static MethodHandle applyHandle() {
+        return MethodHandles.publicLookup()
+                .findVirtual(Function.class, "apply", MethodType.methodType(Object.class, Object.class))
+                .asType(MethodType.methodType(Object.class, Function.class, Object[].class));
+    }
+}
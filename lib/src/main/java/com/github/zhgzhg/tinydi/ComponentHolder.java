@@ -0,0 +1,291 @@
+package com.github.zhgzhg.tinydi;
+
+import com.github.zhgzhg.tinydi.dynamic.TinyDynamicDI;
+import com.github.zhgzhg.tinydi.jfr.JfrSupport;
+import com.github.zhgzhg.tinydi.jfr.PrototypeCreationEvent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Registered component instance, or the means of obtaining one, classified once during the registration. Resolving plain instances
+ * is a single field read, without any type checks or reflection, which are left only for the suppliers and the proxies.
+ */
+final class ComponentHolder {
+
+    /**
+     * The way the held value produces the component instance.
+     */
+    enum Kind {
+        /** The value is the component instance itself. */
+        PLAIN,
+        /** The value is a {@link Supplier} creating new component instances. */
+        SUPPLIER,
+        /** The value is a proxy created via {@link TinyDynamicDI#attachRecordedAnnotation}, which supplies the instances. */
+        PROXIED,
+        /** The value is a {@link LazyInstance} creating the component instance once, on the first resolution. */
+        LAZY,
+        /** The value is a {@link ThreadLocal} creating the component instance once per thread. */
+        THREAD,
+        /** The value is a {@link ComponentPool} handing out reused component instances. */
+        POOLED
+    }
+
+    private final Kind kind;
+    private final Object value;
+
+    private volatile ComponentCounters counters;
+
+    private ComponentHolder(Kind kind, Object value) {
+        this.kind = kind;
+        this.value = value;
+    }
+
+    private ComponentHolder(Kind kind, Supplier<Object> factory, Function<Supplier<Object>, Object> container) {
+        this.kind = kind;
+        this.value = container.apply(() -> this.create(factory));
+    }
+
+    /**
+     * Holds an already created component instance.
+     * @param instance The component instance.
+     * @return New holder returning always <i>instance</i>.
+     */
+    static ComponentHolder plain(Object instance) {
+        return new ComponentHolder(Kind.PLAIN, instance);
+    }
+
+    /**
+     * Holds the supplier of component instances.
+     * @param supplier The supplier to invoke on each resolution.
+     * @return New holder returning the supplied instances.
+     */
+    static ComponentHolder supplier(Supplier<Object> supplier) {
+        return new ComponentHolder(Kind.SUPPLIER, supplier);
+    }
+
+    /**
+     * Holds a proxy of component instances.
+     * @param proxy Proxy created via {@link TinyDynamicDI#attachRecordedAnnotation}.
+     * @return New holder returning the instances behind the proxy.
+     */
+    static ComponentHolder proxied(Object proxy) {
+        return new ComponentHolder(Kind.PROXIED, proxy);
+    }
+
+    /**
+     * Holds the factory of a single component instance, which will be created on the first resolution.
+     * @param factory The factory to invoke once.
+     * @return New holder returning always the instance created by <i>factory</i>.
+     */
+    static ComponentHolder lazy(Supplier<Object> factory) {
+        return new ComponentHolder(Kind.LAZY, factory, LazyInstance::new);
+    }
+
+    /**
+     * Holds the factory of thread-confined component instances.
+     * @param factory The factory to invoke once per thread.
+     * @param currentThreadInstance Already created instance for the current thread, or null.
+     * @return New holder returning always the same instance in the same thread.
+     */
+    @SuppressWarnings("unchecked")
+    static ComponentHolder threadLocal(Supplier<Object> factory, Object currentThreadInstance) {
+        ComponentHolder holder = new ComponentHolder(Kind.THREAD, factory, ThreadLocal::withInitial);
+        if (currentThreadInstance != null) {
+            ((ThreadLocal<Object>) holder.value).set(currentThreadInstance);
+        }
+        return holder;
+    }
+
+    /**
+     * Holds a pool of component instances.
+     * @param factory The factory of the new instances, invoked when the pool is empty.
+     * @param capacity The maximum count of idle instances to be kept. See {@link ComponentPool}.
+     * @return New holder returning pooled or newly created instances.
+     */
+    static ComponentHolder pooled(Supplier<Object> factory, int capacity) {
+        return new ComponentHolder(Kind.POOLED, factory, instances -> new ComponentPool(instances, capacity));
+    }
+
+    /**
+     * Attaches metrics counters to the holder. Every instance created after the registration is counted as instance creation,
+     * whatever the {@link Kind} is, while the supplying of new {@link Kind#SUPPLIER} or {@link Kind#PROXIED} instances is counted
+     * as prototype creation too.
+     * @param counters The counters to attach.
+     */
+    void attachCounters(ComponentCounters counters) {
+        this.counters = counters;
+    }
+
+    /**
+     * Returns the attached metrics counters.
+     * @return The counters, or null if the metrics aren't activated.
+     */
+    ComponentCounters counters() {
+        return this.counters;
+    }
+
+    /**
+     * Checks if the resolution always returns the same, already created instance.
+     * @return True for holders of {@link Kind#PLAIN} kind.
+     */
+    boolean isPlain() {
+        return (this.kind == Kind.PLAIN);
+    }
+
+    /**
+     * Resolves the component instance. The supplying of new {@link Kind#SUPPLIER} or {@link Kind#PROXIED} instances is reported as
+     * {@link PrototypeCreationEvent} to the Java Flight Recorder.
+     * @return The held instance, or a newly supplied one, depending on the {@link Kind}.
+     */
+    @SuppressWarnings("unchecked")
+    Object get() {
+        if (this.kind == Kind.PLAIN) {
+            return this.value;
+        }
+
+        if (this.kind == Kind.POOLED) {
+            return ((ComponentPool) this.value).acquire();
+        }
+
+        if (this.kind == Kind.THREAD) {
+            return ((ThreadLocal<Object>) this.value).get();
+        }
+
+        if (this.kind == Kind.LAZY) {
+            return ((LazyInstance) this.value).get();
+        }
+
+        ComponentCounters counters = this.counters;
+        if (counters != null) {
+            counters.prototypeCreations.increment();
+            counters.instanceCreations.increment();
+        }
+
+        if (!JfrSupport.AVAILABLE) {
+            return this.supply();
+        }
+
+        PrototypeCreationEvent event = PrototypeCreationEvent.start();
+        Object result = this.supply();
+        event.end(result);
+        return result;
+    }
+
+    private Object create(Supplier<Object> factory) {
+        Object instance = factory.get();
+        ComponentCounters counters = this.counters;
+        if (counters != null) {
+            counters.instanceCreations.increment();
+        }
+        return instance;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object supply() {
+        if (this.kind == Kind.PROXIED) {
+            return TinyDynamicDI.realInstance(this.value);
+        }
+
+        Object result = ((Supplier<Object>) this.value).get();
+        while (result instanceof Supplier) {
+            result = ((Supplier<Object>) result).get();
+        }
+        return TinyDynamicDI.realInstance(result);
+    }
+
+    /**
+     * Forgets the instance of the current thread if the holder is of {@link Kind#THREAD} kind, thus the next resolution from the
+     * current thread will create a new one.
+     */
+    @SuppressWarnings("unchecked")
+    void evictCurrentThreadInstance() {
+        if (this.kind == Kind.THREAD) {
+            ((ThreadLocal<Object>) this.value).remove();
+        }
+    }
+
+    /**
+     * Returns a component instance to its pool if the holder is of {@link Kind#POOLED} kind.
+     * @param instance The instance to return.
+     * @return True if the instance has been pooled, otherwise false.
+     */
+    boolean release(Object instance) {
+        return (this.kind == Kind.POOLED && ((ComponentPool) this.value).release(instance));
+    }
+
+    /**
+     * Null-safe resolution of the component instance.
+     * @param holder The holder to resolve. Can be null.
+     * @return The result of {@link #get()}, or null if <i>holder</i> is null.
+     */
+    static Object resolve(ComponentHolder holder) {
+        return (holder == null ? null : holder.get());
+    }
+
+    /**
+     * Lock-free, once-only initialized instance. The thread winning the CAS from the initial state to {@link Pending} creates the
+     * instance, while the concurrent ones wait for its result. If the creation fails the initial state is restored, so a later
+     * resolution can retry it.
+     */
+    private static final class LazyInstance {
+        private final Supplier<Object> factory;
+        private final AtomicReference<Object> state = new AtomicReference<>();
+
+        private LazyInstance(Supplier<Object> factory) {
+            this.factory = factory;
+        }
+
+        Object get() {
+            Object current = this.state.get();
+            if (current != null && !(current instanceof Pending)) {
+                return current;
+            }
+
+            if (current == null) {
+                Pending pending = new Pending();
+                if (this.state.compareAndSet(null, pending)) {
+                    return this.create(pending);
+                }
+                return this.get();
+            }
+
+            Pending pending = (Pending) current;
+            if (pending.creator == Thread.currentThread()) {
+                throw new IllegalStateException("Circular dependency detected during lazy component instantiation");
+            }
+
+            try {
+                return pending.result.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                if (cause instanceof Error) throw (Error) cause;
+                throw new IllegalStateException(cause);
+            }
+        }
+
+        private Object create(Pending pending) {
+            Object instance;
+            try {
+                instance = this.factory.get();
+            } catch (Throwable e) {
+                this.state.set(null);
+                pending.result.completeExceptionally(e);
+                throw e;
+            }
+
+            this.state.set(instance);
+            pending.result.complete(instance);
+            return instance;
+        }
+    }
+
+    private static final class Pending {
+        private final Thread creator = Thread.currentThread();
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+    }
+}
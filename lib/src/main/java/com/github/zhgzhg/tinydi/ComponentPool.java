@@ -0,0 +1,103 @@
+package com.github.zhgzhg.tinydi;
+
+import com.github.zhgzhg.tinydi.components.Resettable;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, lock-free pool of component instances. The slots are claimed and filled with CAS operations. Every thread starts probing
+ * from its own stripe of slots, which keeps the contention low when the pool is used from multiple threads. When there's no pooled
+ * instance a new one is created, and when there's no free slot the released instance is left to the garbage collector. An instance
+ * which is already pooled is rejected when released again, so it's never handed out to two callers at once.
+ */
+final class ComponentPool {
+
+    private static final int STRIPE_SIZE = 4;
+    private static final Object CLAIMED = new Object();
+
+    private final Supplier<Object> factory;
+    private final AtomicReferenceArray<Object> slots;
+    private final int mask;
+
+    /**
+     * Creates new pool.
+     * @param factory The factory of the new instances.
+     * @param capacity The maximum count of idle instances to be kept. It's rounded up to a power of 2.
+     */
+    ComponentPool(Supplier<Object> factory, int capacity) {
+        int size = (capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1);
+        this.factory = factory;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Takes an idle instance out of the pool, or creates a new one.
+     * @return Instance which won't be handed out again until it's released.
+     */
+    Object acquire() {
+        int start = stripe();
+        for (int i = 0; i <= this.mask; ++i) {
+            int index = (start + i) & this.mask;
+            Object instance = this.slots.get(index);
+            if (instance != null && instance != CLAIMED && this.slots.compareAndSet(index, instance, null)) {
+                return instance;
+            }
+        }
+        return this.factory.get();
+    }
+
+    /**
+     * Returns an instance into the pool. {@link Resettable} instances are reset after a free slot has been claimed for them.
+     * @param instance The instance obtained via {@link #acquire()} to return.
+     * @return True if the instance has been pooled, false if the pool is full or the instance is already pooled.
+     */
+    boolean release(Object instance) {
+        if (this.indexOf(instance, -1) >= 0) {
+            return false;
+        }
+
+        int start = stripe();
+        for (int i = 0; i <= this.mask; ++i) {
+            int index = (start + i) & this.mask;
+            if (this.slots.get(index) == null && this.slots.compareAndSet(index, null, CLAIMED)) {
+                return this.fill(index, instance);
+            }
+        }
+        return false;
+    }
+
+    private boolean fill(int index, Object instance) {
+        try {
+            if (instance instanceof Resettable) {
+                ((Resettable) instance).reset();
+            }
+        } catch (RuntimeException | Error e) {
+            this.slots.set(index, null);
+            throw e;
+        }
+        this.slots.set(index, instance);
+
+        // concurrent releases of the same instance publish before checking, so at least one of them sees the other and backs off
+        if (this.indexOf(instance, index) >= 0) {
+            this.slots.compareAndSet(index, instance, null);
+            return false;
+        }
+        return true;
+    }
+
+    private int indexOf(Object instance, int excludedIndex) {
+        for (int i = 0; i <= this.mask; ++i) {
+            if (i != excludedIndex && this.slots.get(i) == instance) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int stripe() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) * STRIPE_SIZE & this.mask;
+    }
+}
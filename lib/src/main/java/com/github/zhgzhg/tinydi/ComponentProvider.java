@@ -0,0 +1,44 @@
+package com.github.zhgzhg.tinydi;
+
+import com.github.zhgzhg.tinydi.components.Provider;
+
+/**
+ * {@link Provider} bound to the holder of the provided component. Until the holder is found, each call looks it up by the
+ * component's type. Afterwards the calls resolve the holder directly, without any map lookups.
+ */
+final class ComponentProvider implements Provider<Object> {
+
+    private final TinyDI tinyDI;
+    private final Class<?> componentType;
+    private volatile ComponentHolder holder;
+
+    /**
+     * Creates new provider.
+     * @param tinyDI The context the component is registered in.
+     * @param componentType The type of the provided component.
+     * @param holder The holder of the component if it's already known, otherwise null.
+     */
+    ComponentProvider(TinyDI tinyDI, Class<?> componentType, ComponentHolder holder) {
+        this.tinyDI = tinyDI;
+        this.componentType = componentType;
+        this.holder = holder;
+    }
+
+    @Override
+    public Object get() {
+        ComponentHolder result = this.holder;
+        if (result == null) {
+            result = this.tinyDI.holderFor(this.componentType);
+            if (result == null) {
+                return null;
+            }
+            this.holder = result;
+        }
+        return result.get();
+    }
+
+    @Override
+    public String toString() {
+        return "Provider<" + this.componentType.getName() + ">";
+    }
+}
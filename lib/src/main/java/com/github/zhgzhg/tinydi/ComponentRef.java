@@ -0,0 +1,57 @@
+package com.github.zhgzhg.tinydi;
+
+import com.github.zhgzhg.tinydi.components.Provider;
+
+/**
+ * Typed handle of a registered component, obtained via {@link TinyDI#ref(Class)} or {@link TinyDI#ref(String, Class)}.
+ * The component is looked up once, when the handle is created, so repeated {@link #get()} calls perform neither map lookups, nor
+ * proxy unwrapping. For singletons the call is a plain field read, while for the other scopes it directly invokes the component's
+ * factory.
+ * @param <T> The type of the component.
+ */
+public final class ComponentRef<T> implements Provider<T> {
+
+    private final String componentName;
+    private final Class<T> componentType;
+
+    private final ComponentHolder holder;
+    private final T instance;
+
+    ComponentRef(String componentName, Class<T> componentType, ComponentHolder holder, T instance) {
+        this.componentName = componentName;
+        this.componentType = componentType;
+        this.holder = holder;
+        this.instance = instance;
+    }
+
+    /**
+     * Returns the name of the referenced component.
+     * @return Nonnull component name.
+     */
+    public String getComponentName() {
+        return this.componentName;
+    }
+
+    /**
+     * Returns the type the component instances are cast to.
+     * @return Nonnull class, which is the wrapper class for primitive components.
+     */
+    public Class<T> getComponentType() {
+        return this.componentType;
+    }
+
+    /**
+     * Returns instance of the referenced component, taking into account its instantiation scope.
+     * @return The component instance, which is the same on every call for singletons.
+     */
+    @Override
+    public T get() {
+        T result = this.instance;
+        return (result != null ? result : this.componentType.cast(this.holder.get()));
+    }
+
+    @Override
+    public String toString() {
+        return "ComponentRef(" + this.componentName + ": " + this.componentType.getName() + ")";
+    }
+}
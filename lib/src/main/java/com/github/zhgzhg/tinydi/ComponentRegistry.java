@@ -0,0 +1,303 @@
+package com.github.zhgzhg.tinydi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of the component names, their classes, and the holders of their singleton and non-singleton instances.
+ * <p>
+ * During the initialization of TinyDI's context the registry is backed by concurrent maps. When it completes, the registry is
+ * frozen - the component names are interned to dense integer ids, indexed via an open-addressing hash table, and the classes and
+ * holders are moved into parallel arrays. This lowers the cost of the lookups and the retained heap. Components registered after the
+ * freezing, for e.g. during lazy instantiation, are kept in the maps, which are consulted only on misses. The classes refined after
+ * the freezing are kept in the map of the classes too, which is consulted first, so the frozen index is never modified.
+ * <p>
+ * The lookups are lock-free. The registrations are serialized, since they happen mostly during the initialization.
+ */
+final class ComponentRegistry {
+
+    private final ConcurrentMap<String, Class<?>> classes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ComponentHolder> singletons = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ComponentHolder> prototypes = new ConcurrentHashMap<>();
+
+    private volatile FrozenIndex frozen;
+    private boolean metricsEnabled;
+
+    /**
+     * Registers the class of a component if the name isn't already registered.
+     * @param componentName The name of the component.
+     * @param componentClass The class of the component.
+     * @return True if the component has been registered, or false if the name is already taken.
+     */
+    synchronized boolean registerClass(String componentName, Class<?> componentClass) {
+        if (this.componentClass(componentName) != null) {
+            return false;
+        }
+        this.classes.put(componentName, componentClass);
+        return true;
+    }
+
+    /**
+     * Replaces the registered class of a component with a subclass of it, for e.g. when a lazy singleton declared by its interface
+     * gets instantiated.
+     * @param componentName The name of the component.
+     * @param componentClass The more specific class of the component.
+     * @return True if the class has been replaced, otherwise false.
+     */
+    synchronized boolean refineClass(String componentName, Class<?> componentClass) {
+        Class<?> registeredClass = this.componentClass(componentName);
+        if (registeredClass == null || registeredClass == componentClass || !registeredClass.isAssignableFrom(componentClass)) {
+            return false;
+        }
+
+        this.classes.put(componentName, componentClass);
+        return true;
+    }
+
+    /**
+     * Registers the holder of a singleton (or lazy singleton) component if there isn't such.
+     * @param componentName The name of the component.
+     * @param holder The holder to register.
+     * @return The already registered holder, or null if <i>holder</i> has been registered.
+     */
+    synchronized ComponentHolder putSingletonIfAbsent(String componentName, ComponentHolder holder) {
+        ComponentHolder existing = this.singleton(componentName);
+        if (existing == null) {
+            this.attachCounters(holder);
+            this.singletons.put(componentName, holder);
+        }
+        return existing;
+    }
+
+    /**
+     * Registers the holder of a non-singleton component if there isn't such.
+     * @param componentName The name of the component.
+     * @param holder The holder to register.
+     * @return The already registered holder, or null if <i>holder</i> has been registered.
+     */
+    synchronized ComponentHolder putPrototypeIfAbsent(String componentName, ComponentHolder holder) {
+        ComponentHolder existing = this.prototype(componentName);
+        if (existing == null) {
+            this.attachCounters(holder);
+            this.prototypes.put(componentName, holder);
+        }
+        return existing;
+    }
+
+    /**
+     * Activates the metrics by attaching counters to all registered and to be registered holders.
+     */
+    synchronized void enableMetrics() {
+        this.metricsEnabled = true;
+        for (String componentName : this.names()) {
+            this.attachCounters(this.singleton(componentName));
+            this.attachCounters(this.prototype(componentName));
+        }
+    }
+
+    private void attachCounters(ComponentHolder holder) {
+        if (this.metricsEnabled && holder != null && holder.counters() == null) {
+            holder.attachCounters(new ComponentCounters());
+        }
+    }
+
+    /**
+     * Returns the registered class of a component.
+     * @param componentName The name of the component.
+     * @return The class or null if there's no such component.
+     */
+    Class<?> componentClass(String componentName) {
+        // holds the components registered after the freezing, and the classes refined after it
+        Class<?> result = this.classes.get(componentName);
+        if (result != null) {
+            return result;
+        }
+
+        FrozenIndex index = this.frozen;
+        if (index != null) {
+            int id = index.idOf(componentName);
+            if (id >= 0) {
+                return index.classes[id];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if a component name is registered.
+     * @param componentName The name of the component.
+     * @return True if registered, otherwise false.
+     */
+    boolean contains(String componentName) {
+        return (this.componentClass(componentName) != null);
+    }
+
+    /**
+     * Returns the holder of a singleton (or lazy singleton) component.
+     * @param componentName The name of the component.
+     * @return The holder or null.
+     */
+    ComponentHolder singleton(String componentName) {
+        FrozenIndex index = this.frozen;
+        if (index != null) {
+            int id = index.idOf(componentName);
+            if (id >= 0 && index.singletons[id] != null) {
+                return index.singletons[id];
+            }
+        }
+        return this.singletons.get(componentName);
+    }
+
+    /**
+     * Returns the holder of a non-singleton component.
+     * @param componentName The name of the component.
+     * @return The holder or null.
+     */
+    ComponentHolder prototype(String componentName) {
+        FrozenIndex index = this.frozen;
+        if (index != null) {
+            int id = index.idOf(componentName);
+            if (id >= 0 && index.prototypes[id] != null) {
+                return index.prototypes[id];
+            }
+        }
+        return this.prototypes.get(componentName);
+    }
+
+    /**
+     * Returns the holder of a component, preferring the singleton one if both are registered.
+     * @param componentName The name of the component.
+     * @return The holder or null.
+     */
+    ComponentHolder holder(String componentName) {
+        FrozenIndex index = this.frozen;
+        if (index != null) {
+            int id = index.idOf(componentName);
+            if (id >= 0) {
+                ComponentHolder holder = index.holders[id];
+                if (holder != null) {
+                    return holder;
+                }
+            }
+        }
+
+        ComponentHolder holder = this.singletons.get(componentName);
+        return (holder != null ? holder : this.prototypes.get(componentName));
+    }
+
+    /**
+     * Returns the names of all registered components.
+     * @return Unmodifiable snapshot of the names.
+     */
+    Set<String> names() {
+        Set<String> result = new LinkedHashSet<>();
+        FrozenIndex index = this.frozen;
+        if (index != null) {
+            Collections.addAll(result, index.names);
+        }
+        result.addAll(this.classes.keySet());
+        return Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * Returns the holders of all non-singleton components.
+     * @return Snapshot of the holders.
+     */
+    List<ComponentHolder> prototypes() {
+        List<ComponentHolder> result = new ArrayList<>();
+        FrozenIndex index = this.frozen;
+        if (index != null) {
+            for (ComponentHolder holder : index.prototypes) {
+                if (holder != null) {
+                    result.add(holder);
+                }
+            }
+        }
+        result.addAll(this.prototypes.values());
+        return result;
+    }
+
+    /**
+     * Moves all registered components into a new frozen index, merging the previously frozen ones if any.
+     */
+    synchronized void freeze() {
+        Set<String> names = this.names();
+        String[] namesArray = names.toArray(new String[0]);
+        Class<?>[] classesArray = new Class<?>[namesArray.length];
+        ComponentHolder[] singletonsArray = new ComponentHolder[namesArray.length];
+        ComponentHolder[] prototypesArray = new ComponentHolder[namesArray.length];
+
+        for (int i = 0; i < namesArray.length; ++i) {
+            classesArray[i] = this.componentClass(namesArray[i]);
+            singletonsArray[i] = this.singleton(namesArray[i]);
+            prototypesArray[i] = this.prototype(namesArray[i]);
+        }
+
+        this.frozen = new FrozenIndex(namesArray, classesArray, singletonsArray, prototypesArray);
+        this.classes.clear();
+        this.singletons.clear();
+        this.prototypes.clear();
+    }
+
+    /**
+     * Immutable name index with parallel arrays of the component data. The hash table stores the ids + 1, where 0 is a free slot.
+     */
+    private static final class FrozenIndex {
+        private final String[] names;
+        private final Class<?>[] classes;
+        private final ComponentHolder[] singletons;
+        private final ComponentHolder[] prototypes;
+        private final ComponentHolder[] holders;
+        private final int[] table;
+        private final int mask;
+
+        private FrozenIndex(String[] names, Class<?>[] classes, ComponentHolder[] singletons, ComponentHolder[] prototypes) {
+            this.names = names;
+            this.classes = classes;
+            this.singletons = singletons;
+            this.prototypes = prototypes;
+
+            this.holders = new ComponentHolder[names.length];
+            for (int i = 0; i < names.length; ++i) {
+                this.holders[i] = (singletons[i] != null ? singletons[i] : prototypes[i]);
+            }
+
+            // load factor of at most 0.5 keeps the probe sequences short
+            int size = Integer.highestOneBit(Math.max(2, names.length) * 2 - 1) << 1;
+            this.table = new int[size];
+            this.mask = size - 1;
+
+            for (int id = 0; id < names.length; ++id) {
+                int slot = spread(names[id].hashCode()) & this.mask;
+                while (this.table[slot] != 0) {
+                    slot = (slot + 1) & this.mask;
+                }
+                this.table[slot] = id + 1;
+            }
+        }
+
+        private int idOf(String name) {
+            if (name == null) {
+                return -1;
+            }
+
+            int slot = spread(name.hashCode()) & this.mask;
+            for (int entry = this.table[slot]; entry != 0; entry = this.table[slot]) {
+                if (this.names[entry - 1].equals(name)) {
+                    return entry - 1;
+                }
+                slot = (slot + 1) & this.mask;
+            }
+            return -1;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.github.zhgzhg.tinydi;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Index of the registered component names by their exact class, and by every superclass and interface of it.
+ * The names for each type are kept in registration order. The results of the lookups, including the misses, are cached per
+ * requested type until the next registration.
+ */
+final class ComponentTypeIndex {
+
+    private final ConcurrentMap<Class<?>, CopyOnWriteArrayList<String>> byExactType = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, CopyOnWriteArrayList<String>> byAssignableType = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, CopyOnWriteArrayList<String>> byConcreteAssignableType = new ConcurrentHashMap<>();
+
+    private volatile ConcurrentMap<Class<?>, Optional<String>> registeredNameCache = new ConcurrentHashMap<>();
+    private volatile ConcurrentMap<Class<?>, Optional<String>> componentNameCache = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes a newly registered component, or an already indexed one by a more specific class.
+     * @param componentName The name the component's been registered with.
+     * @param componentClass The class of the component.
+     */
+    void add(String componentName, Class<?> componentClass) {
+        this.byExactType.computeIfAbsent(componentClass, key -> new CopyOnWriteArrayList<>()).addIfAbsent(componentName);
+
+        boolean isConcrete = isConcrete(componentClass);
+
+        for (Class<?> type : typeHierarchyOf(componentClass)) {
+            this.byAssignableType.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>()).addIfAbsent(componentName);
+            if (isConcrete) {
+                this.byConcreteAssignableType.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>()).addIfAbsent(componentName);
+            }
+        }
+
+        // lookups racing with this registration keep writing into the discarded caches
+        this.registeredNameCache = new ConcurrentHashMap<>();
+        this.componentNameCache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the names of the components registered with exactly the specified class.
+     * @param type The class to look for.
+     * @return Nonnull, unmodifiable list with the names in registration order.
+     */
+    List<String> exactly(Class<?> type) {
+        List<String> result = this.byExactType.get(type);
+        return (result == null ? Collections.emptyList() : Collections.unmodifiableList(result));
+    }
+
+    /**
+     * Returns the names of the components whose class is assignable to the specified type.
+     * @param type The class or interface to look for.
+     * @return Nonnull, unmodifiable list with the names in registration order.
+     */
+    List<String> assignableTo(Class<?> type) {
+        List<String> result = this.byAssignableType.get(type);
+        return (result == null ? Collections.emptyList() : Collections.unmodifiableList(result));
+    }
+
+    /**
+     * Returns the names of the components whose class is neither interface nor abstract, and is assignable to the specified type.
+     * @param type The class or interface to look for.
+     * @return Nonnull, unmodifiable list with the names in registration order.
+     */
+    List<String> concreteAssignableTo(Class<?> type) {
+        List<String> result = this.byConcreteAssignableType.get(type);
+        return (result == null ? Collections.emptyList() : Collections.unmodifiableList(result));
+    }
+
+    /**
+     * Returns the name of the first component registered exactly with the specified class, or if there's no such, the name of the
+     * first one assignable to it.
+     * @param type The class or interface to look for.
+     * @return The component name or null.
+     */
+    String registeredName(Class<?> type) {
+        ConcurrentMap<Class<?>, Optional<String>> cache = this.registeredNameCache;
+        Optional<String> result = cache.get(type);
+
+        if (result == null) {
+            List<String> names = this.exactly(type);
+            if (names.isEmpty()) {
+                names = this.assignableTo(type);
+            }
+            result = names.stream().findFirst();
+            cache.putIfAbsent(type, result);
+        }
+
+        return result.orElse(null);
+    }
+
+    /**
+     * Returns the name of the component to be used when an instance of the specified type is requested. Concrete classes are
+     * matched exactly, while interfaces and abstract classes are matched by the first assignable component.
+     * @param type The class or interface to look for.
+     * @return The component name or null.
+     */
+    String componentName(Class<?> type) {
+        ConcurrentMap<Class<?>, Optional<String>> cache = this.componentNameCache;
+        Optional<String> result = cache.get(type);
+
+        if (result == null) {
+            List<String> names = (isConcrete(type) ? this.exactly(type) : this.assignableTo(type));
+            result = names.stream().findFirst();
+            cache.putIfAbsent(type, result);
+        }
+
+        return result.orElse(null);
+    }
+
+    /**
+     * Converts primitive types to their wrappers.
+     * @param type The type to convert.
+     * @return The wrapper class of a primitive type or the type itself.
+     */
+    static Class<?> wrap(Class<?> type) {
+        return (type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type);
+    }
+
+    /**
+     * Checks if a type can be instantiated, i.e. it's neither an interface nor an abstract class.
+     * @param type The type to check.
+     * @return True if the type is concrete otherwise false.
+     */
+    static boolean isConcrete(Class<?> type) {
+        return !type.isInterface() && !Modifier.isAbstract(type.getModifiers());
+    }
+
+    private static Set<Class<?>> typeHierarchyOf(Class<?> clazz) {
+        Set<Class<?>> result = new LinkedHashSet<>();
+
+        for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+            result.add(current);
+            collectInterfaces(current, result);
+        }
+
+        if (clazz.isInterface()) {
+            result.add(Object.class);
+        }
+
+        return result;
+    }
+
+    private static void collectInterfaces(Class<?> clazz, Set<Class<?>> result) {
+        for (Class<?> iface : clazz.getInterfaces()) {
+            if (result.add(iface)) {
+                collectInterfaces(iface, result);
+            }
+        }
+    }
+}
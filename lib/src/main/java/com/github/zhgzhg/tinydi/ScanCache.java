@@ -0,0 +1,218 @@
+package com.github.zhgzhg.tinydi;
+
+import com.github.zhgzhg.tinydi.meta.descriptors.ComponentDescriptor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Persistent cache of the component descriptors found in each classpath element. An element is rescanned only when its fingerprint
+ * changes - for jar files it consists of the size and the modification time, and for directories of the relative paths, sizes, and
+ * modification times of all the contained files. The whole cache is invalidated when the scan configuration changes.
+ * <p>
+ * Failures to read or write the cache file never fail the DI process - the classpath is scanned as if there's no cache.
+ */
+final class ScanCache {
+
+    private static final byte[] MAGIC = { 'T', 'D', 'I', 'C' };
+    private static final int VERSION = 2;
+
+    private final Path cacheFile;
+
+    /**
+     * Creates new cache instance.
+     * @param cacheFile The file storing the cache. It's created if missing.
+     */
+    ScanCache(Path cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Returns the component descriptors of the specified classpath elements, reusing the cached ones of the unchanged elements, and
+     * scanning the rest. The cache file is updated if any element has been scanned.
+     * @param configurationKey Text uniquely identifying the scan configuration, for e.g. the base and ignored packages.
+     * @param classpathElements The directories and jar files to describe, in classpath order.
+     * @param scanner Function scanning a single classpath element.
+     * @return Nonnull list with the descriptors of all elements, in classpath order. Classes present in multiple elements are
+     * described only by the first one.
+     */
+    List<ComponentDescriptor> load(String configurationKey, List<File> classpathElements,
+            Function<File, List<ComponentDescriptor>> scanner) {
+
+        Map<String, CachedElement> cached = this.read(configurationKey);
+        Map<String, CachedElement> current = new LinkedHashMap<>();
+        boolean changed = (cached.size() != classpathElements.size());
+
+        for (File element : classpathElements) {
+            String path = element.getAbsolutePath();
+            String fingerprint = fingerprint(element);
+
+            CachedElement entry = cached.get(path);
+            if (entry == null || fingerprint == null || !entry.fingerprint.equals(fingerprint)) {
+                entry = new CachedElement(fingerprint, scanner.apply(element));
+                changed = true;
+            }
+            current.put(path, entry);
+        }
+
+        if (changed) {
+            this.write(configurationKey, current);
+        }
+
+        List<ComponentDescriptor> result = new ArrayList<>();
+        Set<String> classNames = new LinkedHashSet<>();
+        for (CachedElement entry : current.values()) {
+            for (ComponentDescriptor descriptor : entry.components) {
+                if (classNames.add(descriptor.getClassName())) {
+                    result.add(descriptor);
+                }
+            }
+        }
+        return result;
+    }
+
+    private Map<String, CachedElement> read(String configurationKey) {
+        Map<String, CachedElement> result = new HashMap<>();
+
+        if (!Files.isRegularFile(this.cacheFile)) {
+            return result;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.cacheFile)))) {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            for (int i = 0; i < MAGIC.length; ++i) {
+                if (magic[i] != MAGIC[i]) {
+                    return result;
+                }
+            }
+
+            if (in.readUnsignedByte() != VERSION || !configurationKey.equals(in.readUTF())) {
+                return result;
+            }
+
+            for (int count = in.readInt(); count > 0; --count) {
+                String path = in.readUTF();
+                String fingerprint = in.readUTF();
+                byte[] components = new byte[in.readInt()];
+                in.readFully(components);
+
+                try (InputStream componentsSource = new ByteArrayInputStream(components)) {
+                    result.put(path, new CachedElement(fingerprint, BinaryDescriptors.read(componentsSource)));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            result.clear();
+        }
+
+        return result;
+    }
+
+    private void write(String configurationKey, Map<String, CachedElement> entries) {
+        Path tempFile = null;
+        try {
+            Path parent = this.cacheFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+
+            tempFile = Files.createTempFile(parent, this.cacheFile.getFileName().toString(), ".tmp");
+            try (OutputStream target = Files.newOutputStream(tempFile);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target))) {
+
+                out.write(MAGIC);
+                out.writeByte(VERSION);
+                out.writeUTF(configurationKey);
+
+                int count = (int) entries.values().stream().filter(entry -> entry.fingerprint != null).count();
+                out.writeInt(count);
+
+                for (Map.Entry<String, CachedElement> entry : entries.entrySet()) {
+                    if (entry.getValue().fingerprint == null) {
+                        continue;
+                    }
+
+                    out.writeUTF(entry.getKey());
+                    out.writeUTF(entry.getValue().fingerprint);
+
+                    try (ByteArrayOutputStream components = new ByteArrayOutputStream()) {
+                        BinaryDescriptors.write(entry.getValue().components, components);
+                        out.writeInt(components.size());
+                        components.writeTo(out);
+                    }
+                }
+            }
+
+            Files.move(tempFile, this.cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            // the next start will simply rescan
+            if (tempFile != null) {
+                tempFile.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * Computes the fingerprint of a classpath element.
+     * @param element Directory or jar file.
+     * @return The fingerprint or null if the element cannot be read.
+     */
+    static String fingerprint(File element) {
+        try {
+            Path path = element.toPath();
+
+            if (!Files.isDirectory(path)) {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return "file:" + attributes.size() + ":" + attributes.lastModifiedTime().toMillis();
+            }
+
+            long hash = 17;
+            long files = 0;
+            try (Stream<Path> walk = Files.walk(path)) {
+                for (Path file : (Iterable<Path>) walk.sorted()::iterator) {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (!attributes.isRegularFile()) {
+                        continue;
+                    }
+                    hash = 31 * hash + path.relativize(file).toString().hashCode();
+                    hash = 31 * hash + attributes.size();
+                    hash = 31 * hash + attributes.lastModifiedTime().toMillis();
+                    ++files;
+                }
+            }
+            return "dir:" + files + ":" + Long.toHexString(hash);
+
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static final class CachedElement {
+        private final String fingerprint;
+        private final List<ComponentDescriptor> components;
+
+        private CachedElement(String fingerprint, List<ComponentDescriptor> components) {
+            this.fingerprint = fingerprint;
+            this.components = components;
+        }
+    }
+}
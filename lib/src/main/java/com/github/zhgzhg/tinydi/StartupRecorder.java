@@ -0,0 +1,63 @@
+package com.github.zhgzhg.tinydi;
+
+import com.github.zhgzhg.tinydi.StartupReport.ComponentTiming;
+import com.github.zhgzhg.tinydi.StartupReport.Phase;
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the timings of TinyDI's context initialization, from which {@link StartupReport} snapshots are produced. The recording
+ * costs a couple of {@link System#nanoTime()} calls per phase and component, and can happen from the instantiation threads.
+ */
+final class StartupRecorder {
+
+    private final Map<Phase, Long> phases = new EnumMap<>(Phase.class);
+    private final Map<String, ComponentTiming> components = new LinkedHashMap<>();
+
+    /**
+     * Adds the time elapsed since <i>startNanos</i> to the duration of a phase.
+     * @param phase The phase to add to.
+     * @param startNanos The value of {@link System#nanoTime()} taken at the phase start.
+     */
+    synchronized void phase(Phase phase, long startNanos) {
+        this.phases.merge(phase, System.nanoTime() - startNanos, Long::sum);
+    }
+
+    /**
+     * Records the instantiation timings of a component, replacing any previous ones.
+     * @param componentName The name of the component.
+     * @param origin The constructor or method creating the component.
+     * @param scope The instantiation strategy of the component.
+     * @param resolutionNanos The time spent obtaining the parameter values.
+     * @param constructionNanos The time spent executing the constructor or method.
+     */
+    synchronized void component(String componentName, String origin, ScopeDI scope, long resolutionNanos, long constructionNanos) {
+        this.components.put(componentName, new ComponentTiming(componentName, origin, scope, resolutionNanos, constructionNanos, 0));
+    }
+
+    /**
+     * Records the entry point execution time of a component.
+     * @param componentName The name of the component.
+     * @param origin The class of the component, used if its instantiation hasn't been recorded.
+     * @param entryPointNanos The time spent executing the entry point.
+     */
+    synchronized void entryPoint(String componentName, String origin, long entryPointNanos) {
+        ComponentTiming timing = this.components.get(componentName);
+        this.components.put(componentName, (timing == null
+                ? new ComponentTiming(componentName, origin, null, 0, 0, entryPointNanos)
+                : new ComponentTiming(componentName, timing.getOrigin(), timing.getScope(), timing.getResolutionNanos(),
+                        timing.getConstructionNanos(), entryPointNanos)));
+    }
+
+    /**
+     * Creates a snapshot of the recorded timings.
+     * @return New, immutable report.
+     */
+    synchronized StartupReport report() {
+        return new StartupReport(this.phases, new ArrayList<>(this.components.values()));
+    }
+}
@@ -0,0 +1,180 @@
+package com.github.zhgzhg.tinydi;
+
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Timings of TinyDI's context initialization, obtained via {@link TinyDI#startupReport()}. It contains the duration of each startup
+ * {@link Phase}, and the time spent on each component's dependency resolution, construction, and entry point execution. All durations
+ * are in nanoseconds. The report is a snapshot - components instantiated later, for e.g. lazy singletons, appear in later reports.
+ */
+@Getter
+public final class StartupReport {
+
+    /**
+     * The phases of TinyDI's context initialization in execution order. They don't overlap, so their sum is the total startup time.
+     */
+    public enum Phase {
+        /** Registration of the programmatically added components. */
+        RECORDS,
+        /** Classpath scanning, reading of the cached scan, or parsing of the static JSON scan. */
+        SCAN,
+        /** Extraction of the component descriptors from the scan, or loading of the static binary scan or the precompiled indexes. */
+        DESCRIPTOR_LOAD,
+        /** Building and sorting of the dependency graphs of the registrars and the supervised classes. */
+        DEPENDENCY_GRAPH,
+        /** Instantiation of the @Registrar classes and their @Recorded components. */
+        REGISTRARS,
+        /** Instantiation of the @Supervised classes. */
+        SUPERVISED,
+        /** Execution of the entry points. */
+        ENTRY_POINTS
+    }
+
+    /**
+     * Timings of a single component. The dependency resolution includes the instantiation of the dependencies created on demand.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class ComponentTiming {
+        /** The name of the component. */
+        private final String componentName;
+        /** The constructor's class, or the class and the name of the @Recorded method creating the component. */
+        private final String origin;
+        /** The instantiation strategy of the component. */
+        private final ScopeDI scope;
+        /** The time spent obtaining the parameter values of the constructor or method. */
+        private final long resolutionNanos;
+        /** The time spent executing the constructor or method. */
+        private final long constructionNanos;
+        /** The time spent executing the component's {@link com.github.zhgzhg.tinydi.components.EntryPoint#run()}, or 0. */
+        private final long entryPointNanos;
+    }
+
+    /** The duration of each phase, in {@link Phase} order. */
+    private final Map<Phase, Long> phases;
+
+    /** The component timings, in instantiation order. */
+    private final List<ComponentTiming> components;
+
+    StartupReport(Map<Phase, Long> phases, List<ComponentTiming> components) {
+        this.phases = Collections.unmodifiableMap(new EnumMap<>(phases));
+        this.components = Collections.unmodifiableList(new ArrayList<>(components));
+    }
+
+    /**
+     * Returns the duration of a phase.
+     * @param phase The phase to look into.
+     * @return The duration in nanoseconds, or 0 if the phase hasn't been executed.
+     */
+    public long getPhaseNanos(Phase phase) {
+        return this.phases.getOrDefault(phase, 0L);
+    }
+
+    /**
+     * Returns the duration of all phases.
+     * @return The total duration in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return this.phases.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Returns the components ordered by the sum of their dependency resolution and construction times, the slowest being first.
+     * @param limit The maximum count of components to return.
+     * @return List with at most <i>limit</i> timings.
+     */
+    public List<ComponentTiming> slowestComponents(int limit) {
+        List<ComponentTiming> result = new ArrayList<>(this.components);
+        result.sort(Comparator.comparingLong((ComponentTiming t) -> t.resolutionNanos + t.constructionNanos).reversed());
+        return result.subList(0, Math.max(0, Math.min(limit, result.size())));
+    }
+
+    /**
+     * Serializes the report as a JSON object with the total duration, the durations of the phases, and the component timings.
+     * @return Nonnull, single line JSON string.
+     */
+    public String toJSON() {
+        StringBuilder json = new StringBuilder(128 + 160 * this.components.size());
+        json.append("{\"totalNanos\":").append(this.getTotalNanos()).append(",\"phases\":{");
+
+        String separator = "";
+        for (Map.Entry<Phase, Long> phase : this.phases.entrySet()) {
+            json.append(separator).append('"').append(phase.getKey().name()).append("\":").append(phase.getValue());
+            separator = ",";
+        }
+
+        json.append("},\"components\":[");
+
+        separator = "";
+        for (ComponentTiming timing : this.components) {
+            json.append(separator).append("{\"componentName\":");
+            appendJSONString(json, timing.componentName);
+            json.append(",\"origin\":");
+            appendJSONString(json, timing.origin);
+            json.append(",\"scope\":");
+            appendJSONString(json, (timing.scope == null ? null : timing.scope.name()));
+            json.append(",\"resolutionNanos\":").append(timing.resolutionNanos)
+                    .append(",\"constructionNanos\":").append(timing.constructionNanos)
+                    .append(",\"entryPointNanos\":").append(timing.entryPointNanos)
+                    .append('}');
+            separator = ",";
+        }
+
+        return json.append("]}").toString();
+    }
+
+    private static void appendJSONString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+
+        json.append('"');
+        for (int i = 0; i < value.length(); ++i) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f ms", nanos / 1_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("TinyDI startup took ").append(millis(this.getTotalNanos()));
+
+        for (Map.Entry<Phase, Long> phase : this.phases.entrySet()) {
+            result.append(System.lineSeparator()).append("  ").append(phase.getKey()).append(": ").append(millis(phase.getValue()));
+        }
+
+        for (ComponentTiming timing : this.slowestComponents(this.components.size())) {
+            result.append(System.lineSeparator()).append("  ").append(timing.componentName)
+                    .append(" (").append(timing.origin).append(", ").append(timing.scope).append("): resolution ")
+                    .append(millis(timing.resolutionNanos)).append(", construction ").append(millis(timing.constructionNanos));
+
+            if (timing.entryPointNanos != 0) {
+                result.append(", entry point ").append(millis(timing.entryPointNanos));
+            }
+        }
+
+        return result.toString();
+    }
+}
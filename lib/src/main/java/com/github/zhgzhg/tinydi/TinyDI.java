@@ -1,57 +1,64 @@
 package com.github.zhgzhg.tinydi;
 
+import com.github.zhgzhg.tinydi.build.ComponentIndex;
 import com.github.zhgzhg.tinydi.components.EntryPoint;
 import com.github.zhgzhg.tinydi.components.Environment;
+import com.github.zhgzhg.tinydi.components.Provider;
 import com.github.zhgzhg.tinydi.dynamic.TinyDynamicDI;
+import com.github.zhgzhg.tinydi.jfr.ComponentCreationEvent;
+import com.github.zhgzhg.tinydi.jfr.JfrSupport;
+import com.github.zhgzhg.tinydi.jfr.ScanEvent;
+import com.github.zhgzhg.tinydi.jfr.ScanLoadEvent;
 import com.github.zhgzhg.tinydi.meta.annotations.KnownAs;
 import com.github.zhgzhg.tinydi.meta.annotations.Recorded;
 import com.github.zhgzhg.tinydi.meta.annotations.Registrar;
 import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
+import com.github.zhgzhg.tinydi.meta.descriptors.ComponentDescriptor;
+import com.github.zhgzhg.tinydi.meta.descriptors.InvokableDescriptor;
+import com.github.zhgzhg.tinydi.meta.descriptors.ParameterDescriptor;
 import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
-import io.github.classgraph.AnnotationEnumValue;
-import io.github.classgraph.AnnotationInfo;
-import io.github.classgraph.AnnotationInfoList;
-import io.github.classgraph.AnnotationParameterValueList;
-import io.github.classgraph.ArrayTypeSignature;
-import io.github.classgraph.BaseTypeSignature;
+import com.github.zhgzhg.tinydi.metrics.ComponentMetrics;
+import com.github.zhgzhg.tinydi.metrics.MetricsMXBeans;
 import io.github.classgraph.ClassGraph;
-import io.github.classgraph.ClassGraphClassLoader;
-import io.github.classgraph.ClassInfo;
-import io.github.classgraph.ClassInfoList;
-import io.github.classgraph.ClassRefOrTypeVariableSignature;
-import io.github.classgraph.ClassRefTypeSignature;
-import io.github.classgraph.MethodInfo;
-import io.github.classgraph.MethodInfoList;
-import io.github.classgraph.MethodParameterInfo;
 import io.github.classgraph.ScanResult;
-import io.github.classgraph.TypeSignature;
 import lombok.NonNull;
 import lombok.SneakyThrows;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.InputStream;
-import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -62,16 +69,23 @@ import java.util.stream.Stream;
 public class TinyDI implements Runnable {
 
     private static final String REGISTRAR_ANNOTATION_NAME = Registrar.class.getCanonicalName();
-    private static final String RECORDED_ANNOTATION_NAME = Recorded.class.getCanonicalName();
     private static final String SUPERVISED_ANNOTATION_NAME = Supervised.class.getCanonicalName();
-    private static final String KNOWN_AS_ANNOTATION_NAME = KnownAs.class.getCanonicalName();
 
-    private static final List<String> CLASS_LVL_COMPONENT_ANNOTATIONS_FOR_REGISTRATION =
-            Arrays.asList(REGISTRAR_ANNOTATION_NAME, SUPERVISED_ANNOTATION_NAME);
+    private static final Logger LOGGER = Logger.getLogger(TinyDI.class.getName());
 
-    private final ConcurrentMap<String, Class<?>> registry = new ConcurrentHashMap<>();
-    private final ConcurrentMap<String, Object> instances = new ConcurrentHashMap<>();
-    private final ConcurrentMap<String, Supplier<Object>> proxyInstances = new ConcurrentHashMap<>();
+    private static final Map<String, Class<?>> PRIMITIVE_TYPES = Stream.of(
+                    boolean.class, byte.class, char.class, short.class, int.class, long.class, float.class, double.class, void.class)
+            .collect(Collectors.toMap(Class::getName, Function.identity()));
+
+    private final ComponentRegistry registry = new ComponentRegistry();
+    private final ComponentTypeIndex typeIndex = new ComponentTypeIndex();
+    private final StartupRecorder startupRecorder = new StartupRecorder();
+    private final ConcurrentMap<String, Object> instantiationLocks = new ConcurrentHashMap<>();
+    private final Map<String, ComponentDescriptor> descriptorsByClassName = new HashMap<>();
+    private final Set<String> reportedAmbiguities = ConcurrentHashMap.newKeySet();
+
+    private final ConcurrentMap<String, Class<?>> resolvedClasses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<InvokableDescriptor, Executable> resolvedInvokables = new ConcurrentHashMap<>();
 
     private final Set<String> basePackages;
     private final Set<String> ignoredBasePackages;
@@ -79,7 +93,16 @@ public class TinyDI implements Runnable {
     private final List<Recorded> additionalRecords;
     private final Set<String> overridingClasspaths;
     private String staticClasspathScan;
+    private List<ComponentDescriptor> staticDescriptors;
+    private List<ComponentIndex> precompiledIndexes;
+    private boolean discoverPrecompiledIndexes;
     private boolean aggressiveEncapsulationCircumventing;
+    private boolean leanScan;
+    private ScanCache scanCache;
+    private Executor instantiationExecutor;
+    private int poolCapacity;
+    private boolean metrics;
+    private ClassLoader classLoader;
 
     /**
      * TinyDI's configuration helper.
@@ -114,9 +137,18 @@ public class TinyDI implements Runnable {
                 throw new IllegalStateException("Cannot combine static json scanning with base packages!");
             }
 
+            if (this.tinyDI.precompiledIndexes != null) {
+                throw new IllegalStateException("Cannot combine static json scanning with precompiled index!");
+            }
+
+            if (this.tinyDI.staticDescriptors != null) {
+                throw new IllegalStateException("Cannot combine static json scanning with static binary scanning!");
+            }
+
+            // InputStream.readAllBytes() isn't available on the older Android versions
             String json;
-            try (ByteArrayOutputStream result = new ByteArrayOutputStream()) {
-                byte[] buffer = new byte[1024];
+            try (ByteArrayOutputStream result = new ByteArrayOutputStream(64 * 1024)) {
+                byte[] buffer = new byte[32 * 1024];
 
                 for (int length; (length = jsonSource.read(buffer)) != -1; ) {
                     result.write(buffer, 0, length);
@@ -142,6 +174,43 @@ public class TinyDI implements Runnable {
             }
         }
 
+        /**
+         * Specifies static, serialized in TinyDI's compact binary format classpath scan to be used during the DI process. Unlike the
+         * JSON scan, it contains only the information needed for DI, and it's read immediately without building any intermediate scan
+         * result. See {@link #configureForStaticBinaryScan()}.
+         * @param binarySource Valid binary resource containing the serialized classpath scan result. It won't be closed.
+         * @return The belonging instance for fluent config.
+         * @throws IllegalArgumentException If {@link #configure()} has been called previously, or the source isn't in the binary format.
+         * @throws IllegalStateException If other static scan, base packages, or precompiled index has been configured.
+         */
+        @SneakyThrows
+        public Config staticBinaryScan(@NonNull InputStream binarySource) {
+            checkLock();
+
+            if (!this.tinyDI.basePackages.isEmpty()) {
+                throw new IllegalStateException("Cannot combine static binary scanning with base packages!");
+            }
+
+            if (this.tinyDI.precompiledIndexes != null) {
+                throw new IllegalStateException("Cannot combine static binary scanning with precompiled index!");
+            }
+
+            if (this.tinyDI.staticClasspathScan != null) {
+                throw new IllegalStateException("Cannot combine static binary scanning with static json scanning!");
+            }
+
+            long startNanos = System.nanoTime();
+            ScanLoadEvent event = (JfrSupport.AVAILABLE ? ScanLoadEvent.start() : null);
+
+            this.tinyDI.staticDescriptors = BinaryDescriptors.read(binarySource);
+
+            if (event != null) {
+                event.end("binary", -1);
+            }
+            this.tinyDI.startupRecorder.phase(StartupReport.Phase.DESCRIPTOR_LOAD, startNanos);
+            return this;
+        }
+
         /**
          * Includes arbitrary, unannotated object instances for injection.
          * They have to be bound dynamically with @{@link Recorded} annotation though. To accomplish that see {@link TinyDynamicDI}.
@@ -173,6 +242,10 @@ public class TinyDI implements Runnable {
                 throw new IllegalStateException("Cannot combine base packages with static json scanning!");
             }
 
+            if (this.tinyDI.staticDescriptors != null) {
+                throw new IllegalStateException("Cannot combine base packages with static binary scanning!");
+            }
+
             if (basePackages != null) {
                 tinyDI.basePackages.clear();
                 Collections.addAll(tinyDI.basePackages, basePackages);
@@ -233,6 +306,46 @@ public class TinyDI implements Runnable {
             return this;
         }
 
+        /**
+         * Specifies precompiled component indexes to be used during the DI process instead of classpath scanning. The indexes are
+         * discovered via {@link ServiceLoader} as services of type {@link ComponentIndex}. Such are generated during the compilation by
+         * the <i>tinydi-processor</i> annotation processor. The configured base packages filter the indexed components. The discovery
+         * happens during {@link #configure()} with the configured {@link #classLoader(ClassLoader)}.
+         * @return The belonging instance for fluent config.
+         * @throws IllegalArgumentException If {@link #configure()} has been called previously.
+         * @throws IllegalStateException If static scan has been configured.
+         */
+        public Config precompiledIndex() {
+            this.precompiledIndex(new ComponentIndex[0]);
+            this.tinyDI.discoverPrecompiledIndexes = true;
+            return this;
+        }
+
+        /**
+         * Specifies precompiled component indexes to be used during the DI process instead of classpath scanning.
+         * See {@link #precompiledIndex()} for more information.
+         * @param indexes One or more indexes whose components will participate in the DI process.
+         * @return The belonging instance for fluent config.
+         * @throws IllegalArgumentException If {@link #configure()} has been called previously.
+         * @throws IllegalStateException If static scan has been configured.
+         */
+        public Config precompiledIndex(@NonNull ComponentIndex... indexes) {
+            checkLock();
+
+            if (this.tinyDI.staticClasspathScan != null) {
+                throw new IllegalStateException("Cannot combine precompiled index with static json scanning!");
+            }
+
+            if (this.tinyDI.staticDescriptors != null) {
+                throw new IllegalStateException("Cannot combine precompiled index with static binary scanning!");
+            }
+
+            this.tinyDI.precompiledIndexes = new ArrayList<>();
+            this.tinyDI.discoverPrecompiledIndexes = false;
+            Collections.addAll(this.tinyDI.precompiledIndexes, indexes);
+            return this;
+        }
+
         /**
          * Registers custom command line arguments, environment parameters, and properties entirely substituting the detected.
          * @param args Command line arguments. By default an empty array.
@@ -243,8 +356,9 @@ public class TinyDI implements Runnable {
          */
         public Config withEnvironment(String[] args, Map<String, String> environmentVars, Properties envProps) {
             checkLock();
-            this.tinyDI.instances.putIfAbsent(Environment.class.getSimpleName(), new Environment(args, environmentVars, envProps));
-            this.tinyDI.registry.putIfAbsent(Environment.class.getSimpleName(), Environment.class);
+            this.tinyDI.registry.putSingletonIfAbsent(Environment.class.getSimpleName(),
+                    ComponentHolder.plain(new Environment(args, environmentVars, envProps)));
+            this.tinyDI.registerComponentClass(Environment.class.getSimpleName(), Environment.class);
             return this;
         }
 
@@ -262,6 +376,105 @@ public class TinyDI implements Runnable {
             return this;
         }
 
+        /**
+         * Controls the amount of information collected during classpath scanning. The lean scan (default) collects only the class, method,
+         * and annotation information needed for DI, which makes it faster, less memory demanding, and produces smaller static JSON scans.
+         * The full scan additionally collects field information, and static final field values.
+         * @param useLeanScan Set to true to use the lean scan, and false to use the full scan
+         * @return The belonging instance for fluent config.
+         * @throws IllegalArgumentException If {@link #configure()} has been called previously.
+         */
+        public Config leanScan(boolean useLeanScan) {
+            checkLock();
+            this.tinyDI.leanScan = useLeanScan;
+            return this;
+        }
+
+        /**
+         * Activates persistent cache of the runtime classpath scan results. The classpath elements are fingerprinted, and on the next
+         * start only the changed ones are scanned again. The cache is discarded if the base packages, the ignored packages or classes,
+         * or the scan mode change. Static scans and precompiled indexes don't use it. Only the classpath is considered - the module path
+         * won't be scanned in this case.
+         * @param cacheFile The file to store the cache in. It's created if missing. Pass null to deactivate the cache (default).
+         * @return The belonging instance for fluent config.
+         * @throws IllegalArgumentException If {@link #configure()} has been called previously.
+         */
+        public Config scanCache(Path cacheFile) {
+            checkLock();
+            this.tinyDI.scanCache = (cacheFile == null ? null : new ScanCache(cacheFile));
+            return this;
+        }
+
+        /**
+         * Activates parallel instantiation of the components using {@link ForkJoinPool#commonPool()}.
+         * See {@link #parallelInstantiation(Executor)} for more information.
+         * @return The belonging instance for fluent config.
+         * @throws IllegalArgumentException If {@link #configure()} has been called previously.
+         */
+        public Config parallelInstantiation() {
+            return this.parallelInstantiation(ForkJoinPool.commonPool());
+        }
+
+        /**
+         * Activates parallel instantiation of the components. Every component whose dependencies are ready is scheduled on the
+         * provided executor, so independent branches of the dependency graph are constructed concurrently. Each singleton is still
+         * created only once. Nevertheless, the constructors and @{@link Recorded} methods of the components must be safe to be
+         * executed from arbitrary threads.
+         * @param executor The executor to instantiate the components with. Pass null to use the sequential instantiation (default).
+         * @return The belonging instance for fluent config.
+         * @throws IllegalArgumentException If {@link #configure()} has been called previously.
+         */
+        public Config parallelInstantiation(Executor executor) {
+            checkLock();
+            this.tinyDI.instantiationExecutor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the maximum count of idle instances kept per {@link ScopeDI#POOLED} component. The instances released while the pool
+         * is full are discarded. By default it's twice the count of the available processors.
+         * @param capacity Positive number, which will be rounded up to a power of 2.
+         * @return The belonging instance for fluent config.
+         * @throws IllegalArgumentException If {@link #configure()} has been called previously, or <i>capacity</i> isn't positive.
+         */
+        public Config poolCapacity(int capacity) {
+            checkLock();
+            if (capacity < 1) {
+                throw new IllegalArgumentException("The pool capacity must be positive!");
+            }
+            this.tinyDI.poolCapacity = capacity;
+            return this;
+        }
+
+        /**
+         * Specifies the class loader the scanned or indexed components are loaded with. Useful when the components come from
+         * dynamically loaded jars, for e.g. plugins. The indexes of {@link #precompiledIndex()} are discovered with it too. By default
+         * it's TinyDI's own class loader.
+         * @param classLoader The class loader to use. It must be able to load TinyDI's annotations and components too.
+         * @return The belonging instance for fluent config.
+         * @throws IllegalArgumentException If {@link #configure()} has been called previously.
+         */
+        public Config classLoader(@NonNull ClassLoader classLoader) {
+            checkLock();
+            this.tinyDI.classLoader = classLoader;
+            return this;
+        }
+
+        /**
+         * Activates the collection of runtime metrics per component - the count of lookups via {@link TinyDI#componentFor(String)}
+         * and {@link TinyDI#componentFor(Class)}, and the count of instances created by the prototype factories. They're available via
+         * {@link TinyDI#metrics()}, and can be exposed via JMX with {@link MetricsMXBeans}. When not activated (default) the lookups
+         * pay only a null check.
+         * @param enabled Set to true to collect metrics.
+         * @return The belonging instance for fluent config.
+         * @throws IllegalArgumentException If {@link #configure()} has been called previously.
+         */
+        public Config metrics(boolean enabled) {
+            checkLock();
+            this.tinyDI.metrics = enabled;
+            return this;
+        }
+
         /**
          * Locks TinyDI's configuration and returns the configured instance.
          * @return Configured {@link TinyDI} instance.
@@ -269,9 +482,18 @@ public class TinyDI implements Runnable {
         public TinyDI configure() {
             this.isLocked = true;
 
-            if (!this.tinyDI.registry.containsKey(Environment.class.getSimpleName())) {
-                this.tinyDI.instances.putIfAbsent(Environment.class.getSimpleName(), new Environment());
-                this.tinyDI.registry.putIfAbsent(Environment.class.getSimpleName(), Environment.class);
+            if (this.tinyDI.discoverPrecompiledIndexes) {
+                this.tinyDI.discoverPrecompiledIndexes = false;
+                ServiceLoader.load(ComponentIndex.class, this.tinyDI.classLoader).forEach(this.tinyDI.precompiledIndexes::add);
+            }
+
+            if (this.tinyDI.metrics) {
+                this.tinyDI.registry.enableMetrics();
+            }
+
+            if (!this.tinyDI.registry.contains(Environment.class.getSimpleName())) {
+                this.tinyDI.registry.putSingletonIfAbsent(Environment.class.getSimpleName(), ComponentHolder.plain(new Environment()));
+                this.tinyDI.registerComponentClass(Environment.class.getSimpleName(), Environment.class);
             }
 
             return this.tinyDI;
@@ -290,6 +512,27 @@ public class TinyDI implements Runnable {
                 return scanResult.toJSON();
             }
         }
+
+        /**
+         * Configures wrapped {@link TinyDI} instance for the only purpose of producing static, compact binary result of the scanned class
+         * path, containing only the elements suitable for DI. It's a smaller and faster to load alternative of
+         * {@link #configureForStaticScan()}, which can be loaded via {@link #staticBinaryScan(InputStream)}.
+         * @return The binary representation of the found elements of interest
+         */
+        @SneakyThrows
+        public byte[] configureForStaticBinaryScan() {
+            this.configure();
+
+            List<ComponentDescriptor> components;
+            try (ScanResult scanResult = this.tinyDI.initiateNewScan()) {
+                components = ClassGraphDescriptors.extract(scanResult);
+            }
+
+            try (ByteArrayOutputStream result = new ByteArrayOutputStream()) {
+                BinaryDescriptors.write(components, result);
+                return result.toByteArray();
+            }
+        }
     }
 
     /**
@@ -307,8 +550,11 @@ public class TinyDI implements Runnable {
         this.additionalRecords = new LinkedList<>();
         this.overridingClasspaths = new LinkedHashSet<>();
         this.aggressiveEncapsulationCircumventing = false;
-        registry.put(this.getClass().getSimpleName(), this.getClass());
-        instances.put(this.getClass().getSimpleName(), this);
+        this.leanScan = true;
+        this.poolCapacity = 2 * Runtime.getRuntime().availableProcessors();
+        this.classLoader = this.getClass().getClassLoader();
+        this.registerComponentClass(this.getClass().getSimpleName(), this.getClass());
+        this.registry.putSingletonIfAbsent(this.getClass().getSimpleName(), ComponentHolder.plain(this));
     }
 
     /**
@@ -326,17 +572,63 @@ public class TinyDI implements Runnable {
                 componentName = TinyDynamicDI.realClass(recd).getSimpleName();
             }
 
-            this.registry.putIfAbsent(componentName, TinyDynamicDI.realClass(recd));
+            this.registerComponentClass(componentName, TinyDynamicDI.realClass(recd));
 
             if (recd.scope() == ScopeDI.SINGLETON) {
-                this.instances.putIfAbsent(componentName, TinyDynamicDI.realInstance(recd));
+                this.registry.putSingletonIfAbsent(componentName, ComponentHolder.plain(TinyDynamicDI.realInstance(recd)));
             } else if (recd.scope() == ScopeDI.PROTOTYPE) { // may contain supplier<object> or supplier<proxy<object>>
-                this.proxyInstances.putIfAbsent(componentName, () -> recd);
+                this.registry.putPrototypeIfAbsent(componentName, ComponentHolder.proxied(recd));
+            } else if (recd.scope() == ScopeDI.LAZY_SINGLETON) {
+                this.registry.putSingletonIfAbsent(componentName, ComponentHolder.lazy(() -> TinyDynamicDI.realInstance(recd)));
+            } else if (recd.scope() == ScopeDI.THREAD) {
+                this.registry.putPrototypeIfAbsent(componentName,
+                        ComponentHolder.threadLocal(() -> TinyDynamicDI.realInstance(recd), null));
+            } else if (recd.scope() == ScopeDI.POOLED) {
+                this.registry.putPrototypeIfAbsent(componentName,
+                        ComponentHolder.pooled(() -> TinyDynamicDI.realInstance(recd), this.poolCapacity));
             }
         }
     }
 
+    private void registerComponentClass(String componentName, Class<?> componentClass) {
+        if (this.registry.registerClass(componentName, componentClass)) {
+            this.typeIndex.add(componentName, componentClass);
+        }
+    }
+
+    private void refineComponentClass(String componentName, Class<?> componentClass) {
+        if (this.registry.refineClass(componentName, componentClass)) {
+            this.typeIndex.add(componentName, componentClass);
+        }
+    }
+
     private ScanResult initiateNewScan() {
+        return this.scan(this.newClassGraph(this.overridingClasspaths));
+    }
+
+    private ScanResult scan(ClassGraph classGraph) {
+        if (!JfrSupport.AVAILABLE) {
+            return classGraph.scan();
+        }
+
+        ScanEvent event = ScanEvent.start();
+        ScanResult scanResult = classGraph.scan();
+        event.end(this.basePackages, this.leanScan);
+        return scanResult;
+    }
+
+    private ScanResult loadStaticScan() {
+        if (!JfrSupport.AVAILABLE) {
+            return ScanResult.fromJSON(this.staticClasspathScan);
+        }
+
+        ScanLoadEvent event = ScanLoadEvent.start();
+        ScanResult scanResult = ScanResult.fromJSON(this.staticClasspathScan);
+        event.end("json", this.staticClasspathScan.length());
+        return scanResult;
+    }
+
+    private ClassGraph newClassGraph(Set<String> classpaths) {
         if (aggressiveEncapsulationCircumventing) {
             try {
                 Class.forName("io.github.toolfactory.narcissus", false, this.getClass().getClassLoader());
@@ -357,240 +649,603 @@ public class TinyDI implements Runnable {
                 .rejectPackages(this.ignoredBasePackages.toArray(new String[0]))
                 .rejectClasses(this.ignoredClasses.toArray(new String[0]))
                 .acceptPackages(this.basePackages.toArray(new String[0]))
-                .enableAllInfo()
-                .addClassLoader(this.getClass().getClassLoader());
+                .addClassLoader(this.classLoader);
+
+        if (this.leanScan) {
+            // exactly what ClassGraphDescriptors reads: annotated classes, their constructors, methods, and parameter annotations
+            classGraph = classGraph
+                    .enableClassInfo()
+                    .enableMethodInfo()
+                    .enableAnnotationInfo()
+                    .ignoreClassVisibility()
+                    .ignoreMethodVisibility();
+        } else {
+            classGraph = classGraph.enableAllInfo();
+        }
 
-        if (!this.overridingClasspaths.isEmpty()) {
-            classGraph = classGraph.overrideClasspath(overridingClasspaths);
+        if (!classpaths.isEmpty()) {
+            classGraph = classGraph.overrideClasspath(classpaths);
         }
 
-        return classGraph.scan();
+        return classGraph;
+    }
+
+    private List<ComponentDescriptor> scanWithCache() {
+        String configurationKey = String.join(",", this.basePackages) + ";" + String.join(",", this.ignoredBasePackages) + ";"
+                + String.join(",", this.ignoredClasses) + ";" + this.leanScan;
+
+        List<File> classpathElements = this.newClassGraph(this.overridingClasspaths).getClasspathFiles();
+
+        long startNanos = System.nanoTime();
+        try {
+            return this.scanCache.load(configurationKey, classpathElements, classpathElement -> {
+                try (ScanResult scanResult = this.scan(this.newClassGraph(Set.of(classpathElement.getPath())))) {
+                    return ClassGraphDescriptors.extract(scanResult);
+                }
+            });
+        } finally {
+            this.startupRecorder.phase(StartupReport.Phase.SCAN, startNanos);
+        }
     }
 
     @SneakyThrows
     public void run() {
+        long startNanos = System.nanoTime();
         this.registerProxiedRecords(this.additionalRecords);
+        this.startupRecorder.phase(StartupReport.Phase.RECORDS, startNanos);
+
+        List<ComponentDescriptor> components = this.loadComponentDescriptors();
+        for (ComponentDescriptor descriptor : components) {
+            this.descriptorsByClassName.putIfAbsent(descriptor.getClassName(), descriptor);
+        }
+
+        this.instantiateAllWithDI(components, ComponentDescriptor.Kind.REGISTRAR, this::instantiateRecords);
+        this.instantiateAllWithDI(components, ComponentDescriptor.Kind.SUPERVISED, (descriptor, instance) -> { });
+
+        this.instantiationLocks.clear();
+        this.registry.freeze();
+        this.executeEntryPoints();
+    }
+
+    private List<ComponentDescriptor> loadComponentDescriptors() {
+        if (this.precompiledIndexes != null) {
+            long startNanos = System.nanoTime();
+            List<ComponentDescriptor> components = this.precompiledIndexes.stream()
+                    .flatMap(index -> index.components().stream())
+                    .filter(descriptor -> this.basePackages.isEmpty() || this.basePackages.stream().anyMatch(
+                            pkgName -> descriptor.getClassName().startsWith(pkgName + ".")))
+                    .collect(Collectors.toList());
+            this.startupRecorder.phase(StartupReport.Phase.DESCRIPTOR_LOAD, startNanos);
+            return components;
+        }
 
-        if (this.staticClasspathScan == null) {
-            try (ScanResult scanResult = this.initiateNewScan()) {
-                this.instantiateAllWithDI(scanResult, REGISTRAR_ANNOTATION_NAME, this::instantiateRecords);
-                this.instantiateAllWithDI(scanResult, SUPERVISED_ANNOTATION_NAME, (classInfo, instance) -> { });
+        if (this.staticDescriptors != null) {
+            return this.staticDescriptors;
+        }
+
+        if (this.staticClasspathScan == null && this.scanCache != null) {
+            return this.scanWithCache();
+        }
+
+        List<ComponentDescriptor> components = this.extractFromScan();
+
+        if (this.staticClasspathScan != null) {
+            // the compact descriptors replace the potentially large JSON, which isn't needed anymore
+            this.staticDescriptors = components;
+            this.staticClasspathScan = null;
+        }
+
+        return components;
+    }
+
+    /**
+     * Performs runtime classpath scan, or loads the static JSON scan, and extracts the component descriptors out of it. The scan
+     * result is closed before returning, and the descriptors don't reference any of its objects, so no ClassGraph data is retained
+     * during the instantiation of the components, or afterwards.
+     * @return Nonnull list of the found components.
+     */
+    private List<ComponentDescriptor> extractFromScan() {
+        long startNanos = System.nanoTime();
+        try (ScanResult scanResult = (this.staticClasspathScan == null
+                ? this.initiateNewScan() : this.loadStaticScan())) {
+
+            this.startupRecorder.phase(StartupReport.Phase.SCAN, startNanos);
+
+            startNanos = System.nanoTime();
+            List<ComponentDescriptor> components = ClassGraphDescriptors.extract(scanResult);
+            this.startupRecorder.phase(StartupReport.Phase.DESCRIPTOR_LOAD, startNanos);
+            return components;
+        }
+    }
+
+    @SneakyThrows
+    private void instantiateAllWithDI(List<ComponentDescriptor> components, ComponentDescriptor.Kind kind,
+            BiConsumer<ComponentDescriptor, Object> proceedOnInstance) {
+
+        List<ComponentDescriptor> candidates = new LinkedList<>();
+
+        for (ComponentDescriptor descriptor : components) {
+            if (descriptor.getKind() != kind) {
+                continue;
             }
-        } else {
-            try (ScanResult scanResult = ScanResult.fromJSON(this.staticClasspathScan)) {
-                Field classGraphClassLoaderField = scanResult.getClass().getDeclaredField("classGraphClassLoader");
-                classGraphClassLoaderField.setAccessible(true);
-                ClassGraphClassLoader classGraphClassLoader = (ClassGraphClassLoader) classGraphClassLoaderField.get(scanResult);
-                Field environmentClassLoaderDelegationOrderField =
-                        classGraphClassLoader.getClass().getDeclaredField("environmentClassLoaderDelegationOrder");
-                environmentClassLoaderDelegationOrderField.setAccessible(true);
-                Set<ClassLoader> envClassLoaders = (Set<ClassLoader>) environmentClassLoaderDelegationOrderField.get(classGraphClassLoader);
-                if (envClassLoaders == null) {
-                    envClassLoaders = new LinkedHashSet<>();
-                    environmentClassLoaderDelegationOrderField.set(classGraphClassLoader, envClassLoaders);
-                }
-                envClassLoaders.add(this.getClass().getClassLoader());
 
-                this.instantiateAllWithDI(scanResult, REGISTRAR_ANNOTATION_NAME, this::instantiateRecords);
-                this.instantiateAllWithDI(scanResult, SUPERVISED_ANNOTATION_NAME, (classInfo, instance) -> { });
+            if (!this.ignoredClasses.isEmpty()
+                    && this.ignoredClasses.contains(this.resolveClass(descriptor.getClassName()).getCanonicalName())) {
+                continue;
+            }
+
+            if (!this.ignoredBasePackages.isEmpty()
+                    && (this.ignoredBasePackages.contains(descriptor.getPackageName())
+                    || this.ignoredBasePackages.stream().anyMatch(pkgName -> pkgName.startsWith(descriptor.getPackageName())))) {
+                continue;
             }
+
+            candidates.add(descriptor);
         }
 
-        this.executeEntryPoints();
+        long startNanos = System.nanoTime();
+        Map<ComponentDescriptor, Set<ComponentDescriptor>> dependencyGraph = this.sortTopologically(candidates);
+        this.startupRecorder.phase(StartupReport.Phase.DEPENDENCY_GRAPH, startNanos);
+
+        startNanos = System.nanoTime();
+        try {
+            this.instantiateAll(dependencyGraph, kind, proceedOnInstance);
+        } finally {
+            this.startupRecorder.phase(
+                    (kind == ComponentDescriptor.Kind.REGISTRAR ? StartupReport.Phase.REGISTRARS : StartupReport.Phase.SUPERVISED),
+                    startNanos);
+        }
     }
 
     @SneakyThrows
-    private void instantiateAllWithDI(
-            ScanResult scanResult, String annotationCanonicalName, BiConsumer<ClassInfo, Object> proceedOnInstance) {
+    private void instantiateAll(Map<ComponentDescriptor, Set<ComponentDescriptor>> dependencyGraph, ComponentDescriptor.Kind kind,
+            BiConsumer<ComponentDescriptor, Object> proceedOnInstance) {
 
-        ClassInfoList initialList = scanResult.getClassesWithAnnotation(annotationCanonicalName);
-        Map<ClassInfo, Object> instantiated = new HashMap<>(initialList.size());
+        List<ComponentDescriptor> failed = new LinkedList<>();
 
-        Set<ClassInfo> ignoredElements = new HashSet<>();
+        if (this.instantiationExecutor == null) {
+            for (ComponentDescriptor descriptor : dependencyGraph.keySet()) {
+                if (this.instantiate(descriptor, proceedOnInstance) == null) {
+                    failed.add(descriptor);
+                }
+            }
+        } else {
+            // every class is scheduled as soon as all of its dependencies are instantiated
+            Map<ComponentDescriptor, CompletableFuture<Object>> scheduled = new LinkedHashMap<>();
+            for (Map.Entry<ComponentDescriptor, Set<ComponentDescriptor>> node : dependencyGraph.entrySet()) {
+                CompletableFuture<?>[] dependencies = node.getValue().stream().map(scheduled::get).toArray(CompletableFuture<?>[]::new);
+                scheduled.put(node.getKey(), CompletableFuture.allOf(dependencies).thenApplyAsync(
+                        ignored -> this.instantiate(node.getKey(), proceedOnInstance), this.instantiationExecutor));
+            }
 
-        for (int i = 0; instantiated.size() != (initialList.size() - ignoredElements.size())
-                && i < (initialList.size() - ignoredElements.size()) * 4; ++i) {
+            try {
+                CompletableFuture.allOf(scheduled.values().toArray(new CompletableFuture<?>[0])).join();
+            } catch (CompletionException e) {
+                throw (e.getCause() != null ? e.getCause() : e);
+            }
 
-            for (ClassInfo classInfo : initialList) {
-                if (instantiated.containsKey(classInfo)) {
-                    continue;
+            for (Map.Entry<ComponentDescriptor, CompletableFuture<Object>> node : scheduled.entrySet()) {
+                if (node.getValue().join() == null) {
+                    failed.add(node.getKey());
                 }
+            }
+        }
 
-                if (!this.ignoredClasses.isEmpty() && this.ignoredClasses.contains(classInfo.loadClass().getCanonicalName())) {
-                    ignoredElements.add(classInfo);
-                    continue;
+        if (!failed.isEmpty()) {
+            String annotationCanonicalName =
+                    (kind == ComponentDescriptor.Kind.REGISTRAR ? REGISTRAR_ANNOTATION_NAME : SUPERVISED_ANNOTATION_NAME);
+
+            throw new IllegalStateException("Couldn't instantiate the @" + annotationCanonicalName + " class(es) : "
+                    + failed.stream().map(ComponentDescriptor::getClassName).collect(Collectors.joining(", ")));
+        }
+    }
+
+    private Object instantiate(ComponentDescriptor descriptor, BiConsumer<ComponentDescriptor, Object> proceedOnInstance) {
+        InvokableDescriptor constructor = descriptor.getConstructor();
+        if (constructor != null && constructor.getScope() == ScopeDI.LAZY_SINGLETON) {
+            return this.registerLazily(constructor, null);
+        }
+
+        Object instance = this.call(descriptor.getConstructor());
+        if (instance != null) {
+            proceedOnInstance.accept(descriptor, instance);
+        }
+        return instance;
+    }
+
+    /**
+     * Builds the dependency graph of the candidates based on their constructor parameter types and {@link KnownAs} names, and sorts
+     * it topologically. Dependencies already satisfied by the registry, or provided by classes outside the candidates, produce no edges.
+     * The @{@link Recorded} methods of registrars are considered as providers too.
+     * @param candidates The classes to be instantiated.
+     * @return Map whose keys iterate in instantiation order, and whose values are the direct dependencies of each key.
+     * @throws IllegalStateException If circular dependency is detected.
+     */
+    private Map<ComponentDescriptor, Set<ComponentDescriptor>> sortTopologically(List<ComponentDescriptor> candidates) {
+        Map<String, Map.Entry<Class<?>, ComponentDescriptor>> providersByName = new HashMap<>();
+        List<Map.Entry<Class<?>, ComponentDescriptor>> providersByType = new ArrayList<>();
+
+        for (ComponentDescriptor descriptor : candidates) {
+            List<InvokableDescriptor> providingMethods = new LinkedList<>();
+
+            if (descriptor.getConstructor() != null) {
+                providingMethods.add(descriptor.getConstructor());
+            }
+
+            for (InvokableDescriptor record : descriptor.getRecords()) {
+                if (!record.isStatic()) {
+                    providingMethods.add(record);
                 }
+            }
+
+            for (InvokableDescriptor invokable : providingMethods) {
+                Map.Entry<Class<?>, ComponentDescriptor> provider =
+                        new AbstractMap.SimpleImmutableEntry<>(this.obtainMethodOrCtorReturnType(invokable), descriptor);
+                providersByName.putIfAbsent(invokable.getComponentName(), provider);
+                providersByType.add(provider);
+            }
+        }
+
+        Map<ComponentDescriptor, Set<ComponentDescriptor>> dependencies = new HashMap<>();
+        Map<ComponentDescriptor, Set<ComponentDescriptor>> dependents = new HashMap<>();
+
+        for (ComponentDescriptor descriptor : candidates) {
+            Set<ComponentDescriptor> classDependencies = new LinkedHashSet<>();
+            dependencies.put(descriptor, classDependencies);
+            dependents.putIfAbsent(descriptor, new LinkedHashSet<>());
+
+            if (descriptor.getConstructor() == null) {
+                continue;
+            }
+
+            this.collectProviders(descriptor, descriptor.getConstructor().getParameters(), providersByName, providersByType,
+                    classDependencies, new HashSet<>());
 
-                if (!this.ignoredBasePackages.isEmpty()
-                        && (this.ignoredBasePackages.contains(classInfo.getPackageName())
-                        || this.ignoredBasePackages.stream().anyMatch(pkgName -> pkgName.startsWith(classInfo.getPackageName())))) {
+            for (ComponentDescriptor provider : classDependencies) {
+                dependents.computeIfAbsent(provider, key -> new LinkedHashSet<>()).add(descriptor);
+            }
+        }
+
+        // Kahn's algorithm, preserving the scan order among the independent classes
+
+        Map<ComponentDescriptor, Integer> inDegrees = new HashMap<>();
+        Deque<ComponentDescriptor> ready = new ArrayDeque<>();
+        for (ComponentDescriptor descriptor : candidates) {
+            int inDegree = dependencies.get(descriptor).size();
+            inDegrees.put(descriptor, inDegree);
+            if (inDegree == 0) {
+                ready.add(descriptor);
+            }
+        }
+
+        Map<ComponentDescriptor, Set<ComponentDescriptor>> result = new LinkedHashMap<>();
+        while (!ready.isEmpty()) {
+            ComponentDescriptor descriptor = ready.poll();
+            result.put(descriptor, dependencies.get(descriptor));
 
-                    ignoredElements.add(classInfo);
-                    continue;
+            for (ComponentDescriptor dependent : dependents.get(descriptor)) {
+                if (inDegrees.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
                 }
+            }
+        }
+
+        if (result.size() != candidates.size()) {
+            // follow the unresolved dependencies until a class repeats itself to report a concrete cycle
+            List<ComponentDescriptor> path = new ArrayList<>();
+            ComponentDescriptor current = candidates.stream().filter(c -> !result.containsKey(c)).findFirst().orElseThrow();
+            while (!path.contains(current)) {
+                path.add(current);
+                current = dependencies.get(current).stream().filter(c -> !result.containsKey(c)).findFirst().orElseThrow();
+            }
+            path = path.subList(path.indexOf(current), path.size());
+            path.add(current);
 
-                MethodInfo methodInfo = selectTheEasiestConstructor(classInfo);
-                Object registrarInstance = this.call(scanResult, methodInfo);
-                if (registrarInstance != null) {
-                    proceedOnInstance.accept(classInfo, registrarInstance);
-                    instantiated.put(classInfo, registrarInstance);
+            throw new IllegalStateException("Circular dependency detected: "
+                    + path.stream().map(ComponentDescriptor::getClassName).collect(Collectors.joining(" -> ")));
+        }
+
+        return result;
+    }
+
+    /**
+     * Collects the candidates providing the values of a component's parameters. The unannotated
+     * {@link ComponentDescriptor.Kind#DEPENDENCY dependencies} are created on demand, so the providers of their constructor parameters
+     * are collected instead.
+     */
+    private void collectProviders(ComponentDescriptor dependent, List<ParameterDescriptor> params,
+            Map<String, Map.Entry<Class<?>, ComponentDescriptor>> providersByName,
+            List<Map.Entry<Class<?>, ComponentDescriptor>> providersByType,
+            Set<ComponentDescriptor> result, Set<ComponentDescriptor> visitedDependencies) {
+
+        for (ParameterDescriptor param : params) {
+            Class<?> elementType = this.collectionElementType(param);
+            if (elementType != null) {
+                // all providers of the elements must be instantiated before the collection is injected
+                for (Map.Entry<Class<?>, ComponentDescriptor> provider : providersByType) {
+                    if (provider.getValue() != dependent && elementType.isAssignableFrom(provider.getKey())) {
+                        result.add(provider.getValue());
+                    }
                 }
+                continue;
+            }
+
+            ComponentDescriptor provider = this.findProvider(param, dependent, providersByName, providersByType);
+            if (provider != null) {
+                result.add(provider);
+                continue;
+            }
+
+            ComponentDescriptor dependency = this.onDemandDependency(param);
+            if (dependency != null && visitedDependencies.add(dependency)) {
+                this.collectProviders(dependent, dependency.getConstructor().getParameters(), providersByName, providersByType,
+                        result, visitedDependencies);
             }
         }
+    }
 
-        if (instantiated.size() != (initialList.size() - ignoredElements.size())) {
-            initialList.removeAll(instantiated.keySet());
-            throw new IllegalStateException("Couldn't instantiate the @" + annotationCanonicalName + " class(es) : "
-                    + initialList.stream().map(ClassInfo::getName).collect(Collectors.joining(", ")));
+    /**
+     * Returns the unannotated class from the scan which is instantiated on demand for a parameter.
+     * @param param The parameter to inspect.
+     * @return The descriptor of the class, or null if the parameter isn't resolved this way.
+     */
+    private ComponentDescriptor onDemandDependency(ParameterDescriptor param) {
+        if (param.getKnownAs() != null) {
+            return null;
         }
+
+        ComponentDescriptor descriptor = this.descriptorsByClassName.get(param.getTypeName());
+        return (descriptor != null && descriptor.getKind() == ComponentDescriptor.Kind.DEPENDENCY && descriptor.getConstructor() != null
+                ? descriptor : null);
     }
 
-    @SneakyThrows
-    private void instantiateRecords(ClassInfo classInfo, Object registrarInstance) {
-        if (classInfo == null || registrarInstance == null) return;
+    private ComponentDescriptor findProvider(ParameterDescriptor param, ComponentDescriptor dependent,
+            Map<String, Map.Entry<Class<?>, ComponentDescriptor>> providersByName,
+            List<Map.Entry<Class<?>, ComponentDescriptor>> providersByType) {
 
-        for (MethodInfo methodInfo : classInfo.getMethodInfo()) {
+        String knownAs = param.getKnownAs();
+        if (knownAs != null) {
+            Map.Entry<Class<?>, ComponentDescriptor> provider = providersByName.get(knownAs);
+            return (this.registry.contains(knownAs) || provider == null ? null : provider.getValue());
+        }
 
-            AnnotationInfo annotationInfo = methodInfo.getAnnotationInfo(RECORDED_ANNOTATION_NAME);
+        Class<?> paramTypeClass = this.obtainParameterTypeClass(param);
 
-            if (annotationInfo == null) {
-                continue;
+        if (!ComponentTypeIndex.isConcrete(paramTypeClass)) {
+            if (!this.typeIndex.concreteAssignableTo(paramTypeClass).isEmpty()) {
+                return null;
+            }
+
+            ComponentDescriptor provider = null;
+            for (Map.Entry<Class<?>, ComponentDescriptor> entry : providersByType) {
+                Class<?> clazz = entry.getKey();
+                if (ComponentTypeIndex.isConcrete(clazz) && paramTypeClass.isAssignableFrom(clazz)) {
+                    provider = entry.getValue();
+                    if (provider != dependent) {
+                        break;
+                    }
+                }
+            }
+            return provider;
+        }
+
+        Class<?> registered = this.registry.componentClass(paramTypeClass.getSimpleName());
+        if ((registered != null && paramTypeClass.isAssignableFrom(registered)) || !this.typeIndex.exactly(paramTypeClass).isEmpty()) {
+            return null;
+        }
+
+        ComponentDescriptor provider = null;
+
+        Map.Entry<Class<?>, ComponentDescriptor> namedProvider = providersByName.get(paramTypeClass.getSimpleName());
+        if (namedProvider != null && paramTypeClass.isAssignableFrom(namedProvider.getKey())) {
+            provider = namedProvider.getValue();
+            if (provider != dependent) {
+                return provider;
             }
+        }
 
-            if (methodInfo.isStatic()) {
+        for (Map.Entry<Class<?>, ComponentDescriptor> entry : providersByType) {
+            if (entry.getKey() == paramTypeClass) {
+                provider = entry.getValue();
+                if (provider != dependent) {
+                    break;
+                }
+            }
+        }
+        return provider;
+    }
+
+    @SneakyThrows
+    private void instantiateRecords(ComponentDescriptor descriptor, Object registrarInstance) {
+        if (descriptor == null || registrarInstance == null) return;
+
+        for (InvokableDescriptor record : descriptor.getRecords()) {
+
+            if (record.isStatic()) {
                 throw new IllegalArgumentException("@Recorded annotating static method: "
-                        + classInfo.getName() + "#" + methodInfo.getName() + "()");
+                        + descriptor.getClassName() + "#" + record.getMethodName() + "()");
             }
 
-            if ("void".equals(methodInfo.getTypeSignatureOrTypeDescriptor().getResultType().toStringWithSimpleNames())) {
+            if ("void".equals(record.getResultTypeName())) {
                 throw new IllegalArgumentException("@Recorded annotating method with void return type: "
-                        + classInfo.getName() + "#" + methodInfo.getName() + "()");
+                        + descriptor.getClassName() + "#" + record.getMethodName() + "()");
             }
 
-            MethodParameterInfo[] parameterInfo = methodInfo.getParameterInfo();
-            if (parameterInfo != null && parameterInfo.length > 0) {
-                throw new IllegalArgumentException("@Recorded " + classInfo.getName() + "#" + methodInfo.getName()
+            if (!record.getParameters().isEmpty()) {
+                throw new IllegalArgumentException("@Recorded " + descriptor.getClassName() + "#" + record.getMethodName()
                         + "(...) is accepting parameters");
             }
 
-            this.call(null, methodInfo, registrarInstance);
+            if (record.getScope() == ScopeDI.LAZY_SINGLETON) {
+                this.registerLazily(record, registrarInstance);
+            } else {
+                this.call(record, registrarInstance);
+            }
         }
     }
 
     private void executeEntryPoints() {
-        for (Map.Entry<String, Class<?>> component : this.registry.entrySet()) {
-            if (EntryPoint.class.isAssignableFrom(component.getValue())) {
-                ((EntryPoint) this.componentFor(component.getKey())).run();
+        long startNanos = System.nanoTime();
+        try {
+            for (String componentName : this.registry.names()) {
+                Class<?> componentClass = this.registry.componentClass(componentName);
+                if (EntryPoint.class.isAssignableFrom(componentClass)) {
+                    long entryPointStartNanos = System.nanoTime();
+                    try {
+                        ((EntryPoint) ComponentHolder.resolve(this.holderFor(componentName))).run();
+                    } finally {
+                        this.startupRecorder.entryPoint(componentName, componentClass.getName(), System.nanoTime() - entryPointStartNanos);
+                    }
+                }
             }
+        } finally {
+            this.startupRecorder.phase(StartupReport.Phase.ENTRY_POINTS, startNanos);
         }
     }
 
-    private Object call(ScanResult scanResult, MethodInfo methodInfo) {
-        return this.call(scanResult, methodInfo, null);
+    private Object call(InvokableDescriptor invokable) {
+        return this.call(invokable, null);
     }
 
-    @SneakyThrows
-    private Object call(ScanResult scanResult, MethodInfo methodInfo, Object instanceOfOrigin) {
-        if (methodInfo == null) {
+    private Object call(InvokableDescriptor invokable, Object instanceOfOrigin) {
+        if (invokable == null) {
             return null;
         }
 
-        ScopeDI instantiationMode = this.obtainComponentInstantiationMode(methodInfo);
-        String componentName = obtainComponentName(methodInfo);
+        if (this.instantiationExecutor == null) {
+            return this.call(invokable, instanceOfOrigin, invokable.getComponentName());
+        }
+
+        // guarantees that concurrently requested singletons are created once
+        String componentName = invokable.getComponentName();
+        synchronized (this.instantiationLocks.computeIfAbsent(componentName, name -> new Object())) {
+            return this.call(invokable, instanceOfOrigin, componentName);
+        }
+    }
+
+    private Object call(InvokableDescriptor invokable, Object instanceOfOrigin, String componentName) {
+        ScopeDI instantiationMode = invokable.getScope();
+
+        if (instantiationMode == ScopeDI.LAZY_SINGLETON) {
+            return this.registerLazily(invokable, instanceOfOrigin).get();
+        }
 
         Object instance = null;
         if (instantiationMode == ScopeDI.SINGLETON) {
-            instance = this.instances.get(componentName);
-        } else if (instantiationMode == ScopeDI.PROTOTYPE) {
-            instance = nestedSupplierResolver(this.proxyInstances.get(componentName));
+            instance = ComponentHolder.resolve(this.registry.singleton(componentName));
+        } else if (instantiationMode == ScopeDI.PROTOTYPE || instantiationMode == ScopeDI.THREAD
+                || instantiationMode == ScopeDI.POOLED) {
+            instance = ComponentHolder.resolve(this.registry.prototype(componentName));
         }
 
         if (instance != null) {
-            if (!this.obtainMethodOrCtorReturnType(methodInfo).isAssignableFrom(this.registry.get(componentName))) {
+            if (!this.obtainMethodOrCtorReturnType(invokable).isAssignableFrom(this.registry.componentClass(componentName))) {
                 throw new IllegalStateException("Already registered component with name " + componentName);
             }
             return instance;
         }
 
-        List<MethodParameterInfo> parametersInfo = this.obtainParameterInfoFromMethodInfo(methodInfo);
+        return this.create(invokable, instanceOfOrigin, componentName);
+    }
+
+    /**
+     * Registers a {@link ScopeDI#LAZY_SINGLETON} component without instantiating it. Until the instantiation the component's class is
+     * the declared return type of the invokable, afterwards it's indexed by its runtime class too.
+     * @param invokable The constructor or method creating the component.
+     * @param instanceOfOrigin The instance whose method creates the component, or null for constructors.
+     * @return The already registered or the newly registered holder of the component.
+     */
+    private ComponentHolder registerLazily(InvokableDescriptor invokable, Object instanceOfOrigin) {
+        String componentName = invokable.getComponentName();
+        Class<?> declaredType = this.obtainMethodOrCtorReturnType(invokable);
+
+        ComponentHolder holder = this.registry.singleton(componentName);
+        if (holder == null) {
+            this.registerComponentClass(componentName, declaredType);
+
+            ComponentHolder lazy = ComponentHolder.lazy(() -> this.create(invokable, instanceOfOrigin, componentName));
+            holder = this.registry.putSingletonIfAbsent(componentName, lazy);
+            if (holder == null) {
+                return lazy;
+            }
+        }
+
+        if (!declaredType.isAssignableFrom(this.registry.componentClass(componentName))) {
+            throw new IllegalStateException("Already registered component with name " + componentName);
+        }
+        return holder;
+    }
+
+    @SneakyThrows
+    private Object create(InvokableDescriptor invokable, Object instanceOfOrigin, String componentName) {
+        long startNanos = System.nanoTime();
+        ComponentCreationEvent event = (JfrSupport.AVAILABLE ? ComponentCreationEvent.start() : null);
+
+        ScopeDI instantiationMode = invokable.getScope();
+        List<ParameterDescriptor> parametersInfo = invokable.getParameters();
 
         List<Object> parameterInstances = new LinkedList<>();
         if (instanceOfOrigin != null) {
             parameterInstances.add(instanceOfOrigin);
         }
 
-        for (MethodParameterInfo param : parametersInfo) {
+        for (ParameterDescriptor param : parametersInfo) {
+            Object indirectInstance = this.indirectParameterInstance(param);
+            if (indirectInstance != null) {
+                parameterInstances.add(indirectInstance);
+                continue;
+            }
+
             Class<?> parameterTypeClass = null;
             String recordName = null;
 
             // find type class based on string alias from @KnownAs
-            AnnotationInfoList typeAnnotationInfo = param.getAnnotationInfo();
-            if (typeAnnotationInfo == null) {
-                typeAnnotationInfo = new AnnotationInfoList(0);
-            }
-
-            AnnotationInfoList preferredComponentNameList = typeAnnotationInfo
-                    .filter(annotationInfo -> KNOWN_AS_ANNOTATION_NAME.equals(annotationInfo.getClassInfo().getName()));
+            String preferredComponentName = param.getKnownAs();
 
-            if (!preferredComponentNameList.isEmpty()) {
-                recordName = (String) preferredComponentNameList.get(0)
-                        .getParameterValues(false)
-                        .getValue("value");
-
-                parameterTypeClass = this.registry.get(recordName);
+            if (preferredComponentName != null) {
+                recordName = preferredComponentName;
+                parameterTypeClass = this.registry.componentClass(recordName);
             } else {
                 // find the parameter type via name deduced by its class name
-                TypeSignature typeSignature = param.getTypeSignatureOrTypeDescriptor();
-
-                if (typeSignature instanceof BaseTypeSignature) {
-                    parameterTypeClass = MethodType.methodType(((BaseTypeSignature) typeSignature).getType()).wrap().returnType();
-                    parameterTypeClass = this.reloadWithLocalClassLoader(parameterTypeClass);
-                } else if (typeSignature instanceof ClassRefOrTypeVariableSignature) {
-                    parameterTypeClass = this.reloadWithLocalClassLoader(((ClassRefTypeSignature) typeSignature).loadClass());
-                } else if (typeSignature instanceof ArrayTypeSignature) {
-                    parameterTypeClass = this.reloadWithLocalClassLoader(((ArrayTypeSignature) typeSignature).loadClass());
-                }
-
-                if (parameterTypeClass != null) {
+                parameterTypeClass = this.obtainParameterTypeClass(param);
 
-                    if (parameterTypeClass.isInterface() || Modifier.isAbstract(parameterTypeClass.getModifiers())) {
-                        final Class<?> paramTypeClass = parameterTypeClass;
+                if (!ComponentTypeIndex.isConcrete(parameterTypeClass)) {
+                    List<String> candidates = this.typeIndex.concreteAssignableTo(parameterTypeClass).stream()
+                            .filter(name -> this.isCompatible(param, name))
+                            .collect(Collectors.toList());
 
-                        recordName = this.registry.entrySet().stream()
-                                .filter(entry -> {
-                                    Class<?> clazz = entry.getValue();
-                                    return (!clazz.isInterface()) && (!Modifier.isAbstract(clazz.getModifiers())) && paramTypeClass.isAssignableFrom(clazz);
-                                })
-                                .map(Map.Entry::getKey)
-                                .findFirst()
-                                .orElse(null);
+                    if (!candidates.isEmpty()) {
+                        recordName = candidates.get(0);
+                    }
+                    if (candidates.size() > 1) {
+                        this.reportAmbiguity(invokable, param, candidates);
+                    }
 
+                } else {
+                    String potentialRecordName = parameterTypeClass.getSimpleName();
+                    if (this.registry.componentClass(potentialRecordName) != null
+                            && parameterTypeClass.isAssignableFrom(this.registry.componentClass(potentialRecordName))) {
+                        recordName = potentialRecordName;
                     } else {
-                        String potentialRecordName = parameterTypeClass.getSimpleName();
-                        if (this.registry.get(potentialRecordName) != null
-                                && parameterTypeClass.isAssignableFrom(this.registry.get(potentialRecordName))) {
-                            recordName = potentialRecordName;
+                        // attempt deducing by class value, but it has to be a registered only once
+
+                        List<String> candidates = this.typeIndex.exactly(parameterTypeClass);
+
+                        if (candidates.size() == 1) {
+                            recordName = candidates.get(0);
+                        } else if (candidates.size() > 1) {
+                            throw new IllegalStateException("Too many candidates " + candidates
+                                    + " for unnamed constructor parameter of type "
+                                    + parameterTypeClass.getCanonicalName() + " in method: " + invokable
+                                    + ", class " + invokable.getDeclaringClassName());
                         } else {
-                            // attempt deducing by class value, but it has to be a registered only once
-
-                            final Class<?> paramTypeClass = parameterTypeClass;
-
-                            List<Map.Entry<String, Class<?>>> candidates = this.registry.entrySet()
-                                    .stream()
-                                    .filter(entry -> entry.getValue() == paramTypeClass)
-                                    .limit(2)
-                                    .collect(Collectors.toList());
-
-                            if (candidates.size() == 1) {
-                                recordName = candidates.get(0).getKey();
-                            } else if (candidates.size() > 1) {
-                                throw new IllegalStateException("Too many candidates for unnamed constructor parameter of type "
-                                        + parameterTypeClass.getCanonicalName() + " in method: " + methodInfo
-                                        + ", class " + methodInfo.getClassInfo().getName());
+                            // unannotated class found in the scan, which is instantiated now, unless its name is taken
+                            ComponentDescriptor dependency = this.onDemandDependency(param);
+                            if (dependency != null && !this.registry.contains(dependency.getConstructor().getComponentName())) {
+                                recordName = dependency.getConstructor().getComponentName();
                             }
                         }
                     }
-
                 }
             }
 
@@ -600,24 +1255,20 @@ public class TinyDI implements Runnable {
 
             // decide how to instantiate the found parameter
 
-            Object o = this.instances.get(recordName);
-            if (o != null) {
-                parameterInstances.add(o);
+            ComponentHolder holder = this.registry.holder(recordName);
+
+            Object o = null;
+            if (holder != null) {
+                o = holder.get();
             } else {
-                o = this.proxyInstances.get(recordName);
-                if (o != null) {
-                    o = nestedSupplierResolver(o);
-                } else {
-                    ClassInfo classInfo = scanResult.getClassInfo(parameterTypeClass.getName());
-                    if (classInfo != null) {
-                        MethodInfo paramsMethodInfo = selectTheEasiestConstructor(classInfo);
-                        o = call(scanResult, paramsMethodInfo);
-                    }
-                }
-                if (o != null) {
-                    parameterInstances.add(o);
+                ComponentDescriptor descriptor = this.descriptorsByClassName.get(parameterTypeClass.getName());
+                if (descriptor != null) {
+                    o = call(descriptor.getConstructor());
                 }
             }
+            if (o != null) {
+                parameterInstances.add(o);
+            }
 
         }
 
@@ -626,46 +1277,46 @@ public class TinyDI implements Runnable {
 
         if (parametersInfo.size() == (parameterInstances.size() - (instanceOfOrigin == null ? 0 : 1))) {
 
-            if (methodInfo.isConstructor()) {
-                Constructor<?> constructor = this.constructorWithLocalClassLoader(methodInfo.loadClassAndGetConstructor());
+            ComponentFactory factory;
+
+            if (invokable.getFactory() != null) {
+                factory = ComponentFactory.of(invokable.getFactory(), parameterInstances.toArray());
+            } else if (invokable.isConstructor()) {
+                Constructor<?> constructor = this.resolveConstructor(invokable);
                 constructor.setAccessible(true);
-                Object[] params = parameterInstances.toArray();
-                invocationResult = constructor.newInstance(params);
-
-                if (instantiationMode == ScopeDI.PROTOTYPE && !this.proxyInstances.containsKey(componentName)) {
-                    Supplier<Object> sup = new Supplier<>() {
-                        @SneakyThrows
-                        @Override
-                        public Object get() {
-                            return constructor.newInstance(params);
-                        }
-                    };
-                    this.proxyInstances.putIfAbsent(componentName, sup);
-                }
+                factory = ComponentFactory.of(constructor, parameterInstances.toArray());
             } else {
-                Method method = this.methodWithLocalClassLoader(methodInfo.loadClassAndGetMethod());
+                Method method = this.resolveMethod(invokable);
                 method.setAccessible(true);
                 Object obj = (parameterInstances.isEmpty() ? null : parameterInstances.remove(0));
-                Object[] params = parameterInstances.toArray();
-                invocationResult = method.invoke(obj, params);
-
-                if (instantiationMode == ScopeDI.PROTOTYPE && !this.proxyInstances.containsKey(componentName)) {
-                    Supplier<Object> sup = new Supplier<>() {
-                        @SneakyThrows
-                        @Override
-                        public Object get() {
-                            return method.invoke(obj, params);
-                        }
-                    };
-                    this.proxyInstances.putIfAbsent(componentName, sup);
-                }
+                factory = ComponentFactory.of(method, obj, parameterInstances.toArray());
+            }
 
+            long constructionStartNanos = System.nanoTime();
+            invocationResult = factory.get();
+
+            String origin = invokable.getDeclaringClassName() + (invokable.isConstructor() ? "" : "#" + invokable.getMethodName());
+            this.startupRecorder.component(componentName, origin, instantiationMode, constructionStartNanos - startNanos,
+                    System.nanoTime() - constructionStartNanos);
+            if (event != null) {
+                event.end(componentName, origin, instantiationMode);
+            }
+
+            if (instantiationMode == ScopeDI.PROTOTYPE) {
+                this.registry.putPrototypeIfAbsent(componentName, ComponentHolder.supplier(factory));
+            } else if (instantiationMode == ScopeDI.THREAD) {
+                this.registry.putPrototypeIfAbsent(componentName, ComponentHolder.threadLocal(factory, invocationResult));
+            } else if (instantiationMode == ScopeDI.POOLED) {
+                this.registry.putPrototypeIfAbsent(componentName, ComponentHolder.pooled(factory, this.poolCapacity));
             }
 
             if (invocationResult != null) {
-                this.registry.putIfAbsent(componentName, invocationResult.getClass());
+                this.registerComponentClass(componentName, invocationResult.getClass());
+                if (instantiationMode == ScopeDI.LAZY_SINGLETON) {
+                    this.refineComponentClass(componentName, invocationResult.getClass());
+                }
                 if (instantiationMode == ScopeDI.SINGLETON) {
-                    this.instances.putIfAbsent(componentName, invocationResult);
+                    this.registry.putSingletonIfAbsent(componentName, ComponentHolder.plain(invocationResult));
                 }
             }
         }
@@ -673,152 +1324,204 @@ public class TinyDI implements Runnable {
         return invocationResult;
     }
 
-    private List<MethodParameterInfo> obtainParameterInfoFromMethodInfo(MethodInfo methodInfo) {
-        return Collections.unmodifiableList(Arrays.stream(methodInfo.getParameterInfo())
-                .filter(paramInfo -> !paramInfo.getTypeDescriptor().toStringWithSimpleNames().equals(methodInfo.getClassName()))
-                .collect(Collectors.toList()));
-                //.collect(Collectors.toUnmodifiableList()); TODO use after the Android jdk desugaring officially supports it
-    }
-
-    @SuppressWarnings("unchecked")
-    private static Object nestedSupplierResolver(Object supplier) {
-        Object result = supplier;
-        while (result instanceof Supplier) {
-            result = ((Supplier<Object>) result).get();
-        }
-        return TinyDynamicDI.realInstance(result);
-    }
-
     /**
-     * Returns a Constructor instace, that's been loaded with this component's class loader.
-     * @param ctor The original Constructor instance to reload
-     * @return A reloaded with the current class loader Constructor instance.
+     * Warns, once per parameter, that several components can be injected into an abstract parameter type, and the first registered
+     * one is chosen.
+     * @param invokable The constructor or method declaring the parameter.
+     * @param param The ambiguous parameter.
+     * @param candidates The names of the matching components in registration order.
      */
-    @SneakyThrows
-    protected Constructor<?> constructorWithLocalClassLoader(Constructor<?> ctor) {
-        Class<?> myClass = this.reloadWithLocalClassLoader(ctor.getDeclaringClass());
-        Class<?>[] parameters = Stream.of(ctor.getParameterTypes()).map(this::reloadWithLocalClassLoader).toArray(Class<?>[]::new);
-        return myClass.getDeclaredConstructor(parameters);
+    private void reportAmbiguity(InvokableDescriptor invokable, ParameterDescriptor param, List<String> candidates) {
+        if (this.reportedAmbiguities.add(invokable + " " + param)) {
+            LOGGER.warning(() -> "Ambiguous parameter of type " + param.getTypeName() + " in " + invokable + " - candidates "
+                    + candidates + " in registration order, injecting " + candidates.get(0) + ". Use @KnownAs to choose one.");
+        }
     }
 
     /**
-     * Returns a Method instance, that's been loaded with this component's class loader.
-     * @param method The original Method instance to reload
-     * @return A reloaded with the current class loader Method instance.
+     * Creates the value of a parameter which isn't a component itself, but provides access to one or more components. Such are the
+     * parameters of type {@link Provider Provider&lt;T&gt;} or {@link Supplier Supplier&lt;T&gt;}, and of type
+     * {@link List List&lt;T&gt;}, {@link Set Set&lt;T&gt;}, or {@link Map Map&lt;String, T&gt;} which receive all components
+     * assignable to <i>T</i> in registration order. Parameters with @{@link KnownAs} annotation, and collection parameters matched by
+     * a {@link #isCompatible compatible} registered collection, are excluded.
+     * @param param The parameter to create the value for.
+     * @return The parameter's value, or null if the parameter has to be resolved as a regular component.
      */
-    @SneakyThrows
-    protected Method methodWithLocalClassLoader(Method method) {
-        Class<?> myClass = this.reloadWithLocalClassLoader(method.getDeclaringClass());
-        Class<?>[] parameters = Stream.of(method.getParameterTypes()).map(this::reloadWithLocalClassLoader).toArray(Class<?>[]::new);
-        return myClass.getDeclaredMethod(method.getName(), parameters);
+    private Object indirectParameterInstance(ParameterDescriptor param) {
+        if (!this.isIndirectParameter(param)) {
+            return null;
+        }
+
+        Class<?> parameterTypeClass = this.obtainParameterTypeClass(param);
+
+        if (parameterTypeClass == Provider.class || parameterTypeClass == Supplier.class) {
+            Class<?> componentType = ComponentTypeIndex.wrap(this.resolveClass(param.getTypeArguments().get(0)));
+            return new ComponentProvider(this, componentType, this.holderFor(componentType));
+        }
+
+        Class<?> elementType = this.collectionElementType(param);
+        if (elementType == null) {
+            return null;
+        }
+
+        Map<String, Object> components = new LinkedHashMap<>();
+        for (String componentName : this.typeIndex.assignableTo(elementType)) {
+            Object instance = ComponentHolder.resolve(this.holderFor(componentName));
+            if (instance != null) {
+                components.put(componentName, instance);
+            }
+        }
+
+        if (parameterTypeClass == List.class) {
+            return List.of(components.values().toArray());
+        }
+        if (parameterTypeClass == Set.class) {
+            return Collections.unmodifiableSet(new LinkedHashSet<>(components.values()));
+        }
+        return Collections.unmodifiableMap(components);
     }
 
     /**
-     * Returns a Class instance, that's been loaded with this component's class loader.
-     * @param foreignClass The original Class instance to reload
-     * @return A reloaded with the current class loader Class instance.
+     * Returns the element type of a {@link List List&lt;T&gt;}, {@link Set Set&lt;T&gt;}, or {@link Map Map&lt;String, T&gt;}
+     * parameter, which should be injected with all components assignable to <i>T</i>.
+     * @param param The parameter to inspect.
+     * @return The class of <i>T</i>, or null if the parameter isn't such a collection.
      */
-    @SneakyThrows
-    protected Class<?> reloadWithLocalClassLoader(Class<?> foreignClass) {
-        ClassLoader myClassLoader = this.getClass().getClassLoader();
+    private Class<?> collectionElementType(ParameterDescriptor param) {
+        if (!this.isIndirectParameter(param)) {
+            return null;
+        }
+
+        Class<?> parameterTypeClass = this.obtainParameterTypeClass(param);
+        List<String> typeArguments = param.getTypeArguments();
 
-        if (foreignClass.getClassLoader() != myClassLoader && !foreignClass.isPrimitive()) {
-            return Class.forName(foreignClass.getCanonicalName(), true, myClassLoader);
+        if ((parameterTypeClass == List.class || parameterTypeClass == Set.class) && typeArguments.size() == 1) {
+            return ComponentTypeIndex.wrap(this.resolveClass(typeArguments.get(0)));
         }
 
-        return foreignClass;
-    }
+        if (parameterTypeClass == Map.class && typeArguments.size() == 2 && String.class.getName().equals(typeArguments.get(0))) {
+            return ComponentTypeIndex.wrap(this.resolveClass(typeArguments.get(1)));
+        }
 
-    private static MethodInfo selectTheEasiestConstructor(ClassInfo classInfo) {
+        return null;
+    }
 
-        MethodInfoList methods = classInfo.getDeclaredConstructorInfo();
+    private boolean isIndirectParameter(ParameterDescriptor param) {
+        if (param.getKnownAs() != null || param.getTypeArguments().isEmpty()) {
+            return false;
+        }
 
-        if (methods == null || methods.isEmpty()) return null;
+        Class<?> parameterTypeClass = this.obtainParameterTypeClass(param);
+        if (parameterTypeClass == Provider.class || parameterTypeClass == Supplier.class) {
+            return true;
+        }
 
-        return methods.stream()
-                .filter(method -> {
-                    // public or package private constructor
+        if (parameterTypeClass != List.class && parameterTypeClass != Set.class && parameterTypeClass != Map.class) {
+            return false;
+        }
 
-                    int modifiers = method.getModifiers();
-                    return (Modifier.isPublic(modifiers)
-                            || !(Modifier.isPublic(modifiers) || Modifier.isPrivate(modifiers) || Modifier.isProtected(modifiers)));
-                })
-                .min(Comparator.comparingInt(methodInfo -> methodInfo.getParameterInfo().length))
-                .orElse(null);
+        return this.typeIndex.concreteAssignableTo(parameterTypeClass).stream().noneMatch(name -> this.isCompatible(param, name));
     }
 
-    private ScopeDI obtainComponentInstantiationMode(MethodInfo methodInfo) {
-        if (methodInfo.isConstructor()) {
-            ClassInfo classInfo = methodInfo.getClassInfo();
+    /**
+     * Checks if a registered component can be the value of a parameter. The erased component class doesn't reveal the element type of
+     * collections, so a component is compatible with a {@link List}, {@link Set}, or {@link Map} parameter only if it's an already
+     * created singleton, which isn't empty, and whose elements (or the keys and values of a map) are instances of the parameter's type
+     * arguments. This way an unrelated collection component is never injected instead of the matching components.
+     * @param param The parameter to check against.
+     * @param componentName The name of the component, which class is assignable to the parameter's type.
+     * @return True if the component is compatible, otherwise false.
+     */
+    private boolean isCompatible(ParameterDescriptor param, String componentName) {
+        Class<?> parameterTypeClass = this.obtainParameterTypeClass(param);
+        List<String> typeArguments = param.getTypeArguments();
 
-            AnnotationInfo annotationInfo = classInfo.getAnnotationInfo(SUPERVISED_ANNOTATION_NAME);
-            if (annotationInfo != null) {
-                AnnotationParameterValueList parameterValues = annotationInfo.getParameterValues();
-                return (ScopeDI) ((AnnotationEnumValue) parameterValues.getValue("scope")).loadClassAndReturnEnumValue();
-            }
+        if (typeArguments.isEmpty()
+                || (parameterTypeClass != List.class && parameterTypeClass != Set.class && parameterTypeClass != Map.class)) {
+            return true;
+        }
 
-            return ScopeDI.SINGLETON;
+        ComponentHolder holder = this.registry.singleton(componentName);
+        if (holder == null || !holder.isPlain()) {
+            return false;
         }
 
-        AnnotationInfo annotationInfo = methodInfo.getAnnotationInfo(RECORDED_ANNOTATION_NAME);
-        if (annotationInfo == null) {
-            throw new IllegalStateException(methodInfo.toStringWithSimpleNames() + " not eligible for DI!");
+        Object instance = holder.get();
+        if (parameterTypeClass == Map.class) {
+            return (typeArguments.size() == 2 && !((Map<?, ?>) instance).isEmpty()
+                    && areInstancesOf(((Map<?, ?>) instance).keySet(), this.resolveClass(typeArguments.get(0)))
+                    && areInstancesOf(((Map<?, ?>) instance).values(), this.resolveClass(typeArguments.get(1))));
         }
 
-        return (ScopeDI) ((AnnotationEnumValue) annotationInfo.getParameterValues().getValue("scope"))
-                .loadClassAndReturnEnumValue();
+        return (!((Collection<?>) instance).isEmpty() && areInstancesOf((Collection<?>) instance, this.resolveClass(typeArguments.get(0))));
     }
 
-    private String obtainComponentName(MethodInfo methodInfo) {
+    private static boolean areInstancesOf(Collection<?> values, Class<?> type) {
+        Class<?> wrapped = ComponentTypeIndex.wrap(type);
+        return values.stream().allMatch(wrapped::isInstance);
+    }
 
-        if (methodInfo.isConstructor()) {
-            ClassInfo classInfo = methodInfo.getClassInfo();
+    private Class<?> obtainParameterTypeClass(ParameterDescriptor param) {
+        return ComponentTypeIndex.wrap(this.resolveClass(param.getTypeName()));
+    }
 
-            String componentName = null;
+    private Class<?> obtainMethodOrCtorReturnType(InvokableDescriptor invokable) {
+        return ComponentTypeIndex.wrap(this.resolveClass(invokable.getResultTypeName()));
+    }
 
-            for (String annotationName : CLASS_LVL_COMPONENT_ANNOTATIONS_FOR_REGISTRATION) {
-                AnnotationInfo annotationInfo = classInfo.getAnnotationInfo(annotationName);
-                if (annotationInfo != null) {
-                    AnnotationParameterValueList parameterValues = annotationInfo.getParameterValues();
-                    componentName = (String) parameterValues.getValue("value");
-                    break;
-                }
+    /**
+     * Returns a Class instance, loaded with this component's class loader. The results are cached.
+     * @param className The binary name of the class as returned by {@link Class#getName()}, or the name of a primitive type.
+     * @return The loaded Class instance.
+     */
+    @SneakyThrows
+    private Class<?> resolveClass(String className) {
+        Class<?> result = this.resolvedClasses.get(className);
+        if (result == null) {
+            result = PRIMITIVE_TYPES.get(className);
+            if (result == null) {
+                result = Class.forName(className, true, this.classLoader);
             }
-
-            return (componentName == null || componentName.isBlank() ? classInfo.getSimpleName() : componentName);
+            this.resolvedClasses.putIfAbsent(className, result);
         }
+        return result;
+    }
 
-        AnnotationInfo annotationInfo = methodInfo.getAnnotationInfo(RECORDED_ANNOTATION_NAME);
-        if (annotationInfo == null) {
-            throw new IllegalStateException(methodInfo.toStringWithSimpleNames() + " not eligible to register DI components!");
+    @SneakyThrows
+    private Constructor<?> resolveConstructor(InvokableDescriptor invokable) {
+        Executable result = this.resolvedInvokables.get(invokable);
+        if (result == null) {
+            result = this.resolveClass(invokable.getDeclaringClassName()).getDeclaredConstructor(this.resolveParameterTypes(invokable));
+            this.resolvedInvokables.putIfAbsent(invokable, result);
         }
-
-        String componentName;
-        AnnotationParameterValueList defaultParameterValues = annotationInfo.getParameterValues();
-        componentName = (String) defaultParameterValues.getValue("value");
-
-        return (componentName == null || componentName.isBlank() ? methodInfo.getName() : componentName);
+        return (Constructor<?>) result;
     }
 
     @SneakyThrows
-    private Class<?> obtainMethodOrCtorReturnType(MethodInfo methodInfo) {
-        if (methodInfo.isConstructor()) {
-            return this.reloadWithLocalClassLoader(methodInfo.getClassInfo().loadClass());
+    private Method resolveMethod(InvokableDescriptor invokable) {
+        Executable result = this.resolvedInvokables.get(invokable);
+        if (result == null) {
+            result = this.resolveClass(invokable.getDeclaringClassName())
+                    .getDeclaredMethod(invokable.getMethodName(), this.resolveParameterTypes(invokable));
+            this.resolvedInvokables.putIfAbsent(invokable, result);
         }
+        return (Method) result;
+    }
 
-        Class<?> result = null;
-
-        TypeSignature resultType = methodInfo.getTypeSignatureOrTypeDescriptor().getResultType();
-        if (resultType instanceof BaseTypeSignature) {
-            result = MethodType.methodType(((BaseTypeSignature) resultType).getType()).wrap().returnType();
-            result = this.reloadWithLocalClassLoader(result);
-        } else if (resultType instanceof ClassRefTypeSignature) {
-            result = this.reloadWithLocalClassLoader(((ClassRefTypeSignature) resultType).loadClass());
-        } else if (resultType instanceof ArrayTypeSignature) {
-            result = this.reloadWithLocalClassLoader(((ArrayTypeSignature) resultType).loadClass());
-        }
+    private Class<?>[] resolveParameterTypes(InvokableDescriptor invokable) {
+        return invokable.getParameters().stream()
+                .map(param -> this.resolveClass(param.getTypeName()))
+                .toArray(Class<?>[]::new);
+    }
 
-        return result;
+    /**
+     * Returns the timings of the context initialization, covering each startup phase and the instantiation of each component. Useful
+     * for finding slow constructors, @{@link Recorded} methods, or scans. See {@link StartupReport#toJSON()} for a machine-readable
+     * dump.
+     * @return New snapshot of the timings recorded so far.
+     */
+    public StartupReport startupReport() {
+        return this.startupRecorder.report();
     }
 
     /**
@@ -826,7 +1529,7 @@ public class TinyDI implements Runnable {
      * @return A set with the available component names.
      */
     public Set<String> registeredComponentNames() {
-        return this.registry.keySet();
+        return this.registry.names();
     }
 
     /**
@@ -835,7 +1538,7 @@ public class TinyDI implements Runnable {
      * @return The registered {@link Class} instance or null if such is not found.
      */
     public Class<?> registeredComponentClass(String componentName) {
-        return this.registry.get(componentName);
+        return this.registry.componentClass(componentName);
     }
 
     /**
@@ -846,23 +1549,7 @@ public class TinyDI implements Runnable {
     public String registeredComponentName(Class<?> componentClass) {
         if (componentClass == null) return null;
 
-        if (componentClass.isPrimitive()) {
-            componentClass = MethodType.methodType(componentClass).wrap().returnType();
-        }
-
-        for (Map.Entry<String, Class<?>> entry : this.registry.entrySet()) {
-            if (entry.getValue() == componentClass) {
-                return entry.getKey();
-            }
-        }
-
-        for (Map.Entry<String, Class<?>> entry : this.registry.entrySet()) {
-            if (componentClass.isAssignableFrom(entry.getValue())) {
-                return entry.getKey();
-            }
-        }
-
-        return null;
+        return this.typeIndex.registeredName(ComponentTypeIndex.wrap(componentClass));
     }
 
     /**
@@ -914,41 +1601,67 @@ public class TinyDI implements Runnable {
         return result;
     }
 
+    /**
+     * Releases the current thread's instances of all {@link ScopeDI#THREAD} components, so the next injections and requests from the
+     * current thread will create new ones. Useful for pooled threads, since otherwise the instances are released together with the
+     * thread.
+     */
+    public void evictThreadScopedComponents() {
+        for (ComponentHolder holder : this.registry.prototypes()) {
+            holder.evictCurrentThreadInstance();
+        }
+    }
+
+    /**
+     * Returns an instance of a {@link ScopeDI#POOLED} component to its pool, so it can be handed out again. The instance must not be
+     * used afterwards.
+     * @param component The instance obtained via injection or {@link #componentFor}.
+     * @return True if the instance has been pooled, or false if it's not of a pooled component, it's already pooled, or the pool is
+     * full.
+     */
+    public boolean release(Object component) {
+        if (component == null) return false;
+
+        String componentName = this.typeIndex.componentName(component.getClass());
+        return (componentName != null && this.release(componentName, component));
+    }
+
+    /**
+     * Returns an instance of a {@link ScopeDI#POOLED} component to its pool, so it can be handed out again. The instance must not be
+     * used afterwards.
+     * @param componentName The name of the component the instance belongs to.
+     * @param component The instance obtained via injection or {@link #componentFor}.
+     * @return True if the instance has been pooled, or false if it's not an instance of a pooled component, it's already pooled, or
+     * the pool is full.
+     */
+    public boolean release(String componentName, Object component) {
+        if (component == null) return false;
+
+        Class<?> componentClass = this.registry.componentClass(componentName);
+        if (componentClass == null || !componentClass.isInstance(component)) {
+            return false;
+        }
+
+        ComponentHolder holder = this.registry.prototype(componentName);
+        return (holder != null && holder.release(component));
+    }
+
     /**
      * Returns instance of an already registered component, taking into account its instantiation scope.
      * @param componentClass The class type of the component to search for and possibly instantiate
      * @return A nonnull instance if a class match's been found, otherwise null.
      */
     public Object componentFor(Class<?> componentClass) {
-        if (componentClass.isPrimitive()) {
-            componentClass = MethodType.methodType(componentClass).wrap().returnType();
+        ComponentHolder holder = this.holderFor(componentClass);
+        if (holder == null) {
+            return null;
         }
 
-        if (!componentClass.isInterface() && !Modifier.isAbstract(componentClass.getModifiers())) {
-
-            for (Map.Entry<String, Class<?>> entry : this.registry.entrySet()) {
-                if (entry.getValue() == componentClass) {
-                    Object instance = this.instances.get(entry.getKey());
-                    if (instance == null) {
-                        instance = nestedSupplierResolver(this.proxyInstances.get(entry.getKey()));
-                    }
-                    return instance;
-                }
-            }
-        } else {
-
-            for (Map.Entry<String, Class<?>> entry : this.registry.entrySet()) {
-                if (componentClass.isAssignableFrom(entry.getValue())) {
-                    Object instance = this.instances.get(entry.getKey());
-                    if (instance == null) {
-                        instance = nestedSupplierResolver(this.proxyInstances.get(entry.getKey()));
-                    }
-                    return instance;
-                }
-            }
+        ComponentCounters counters = holder.counters();
+        if (counters != null) {
+            counters.lookupsByType.increment();
         }
-
-        return null;
+        return holder.get();
     }
 
     /**
@@ -957,10 +1670,84 @@ public class TinyDI implements Runnable {
      * @return A nonnull instance if a name match's been found, otherwise null.
      */
     public Object componentFor(String componentName) {
-        Object instance = this.instances.get(componentName);
-        if (instance == null) {
-            instance = nestedSupplierResolver(this.proxyInstances.get(componentName));
+        ComponentHolder holder = this.holderFor(componentName);
+        if (holder == null) {
+            return null;
         }
-        return instance;
+
+        ComponentCounters counters = holder.counters();
+        if (counters != null) {
+            counters.lookupsByName.increment();
+        }
+        return holder.get();
+    }
+
+    /**
+     * Returns the runtime metrics of all components, if activated via {@link Config#metrics(boolean)}. The lookups through
+     * {@link ComponentRef} and {@link Provider} handles, and the injections, aren't counted as lookups, but the prototype instances
+     * they create are counted.
+     * @return New snapshot of the metrics in registration order, or empty list if the metrics aren't activated.
+     */
+    public List<ComponentMetrics> metrics() {
+        List<ComponentMetrics> result = new ArrayList<>();
+        for (String componentName : this.registry.names()) {
+            ComponentHolder holder = this.registry.holder(componentName);
+            ComponentCounters counters = (holder == null ? null : holder.counters());
+            if (counters != null) {
+                result.add(counters.snapshot(componentName));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a reusable, typed reference to a registered component. Unlike {@link #componentFor(Class)} the component is looked up
+     * only once, thus the reference is suitable for repeated resolution on hot paths.
+     * @param componentClass The class type of the component to search for.
+     * @param <T> The type of the component.
+     * @return A nonnull reference if a class match's been found, otherwise null.
+     */
+    public <T> ComponentRef<T> ref(@NonNull Class<T> componentClass) {
+        String componentName = this.typeIndex.componentName(ComponentTypeIndex.wrap(componentClass));
+        return (componentName == null ? null : this.ref(componentName, componentClass));
+    }
+
+    /**
+     * Returns a reusable, typed reference to a registered component. Unlike {@link #componentFor(String)} the component is looked up
+     * only once, thus the reference is suitable for repeated resolution on hot paths.
+     * @param componentName The name of the component to search for.
+     * @param componentClass The type the component instances will be cast to.
+     * @param <T> The type of the component.
+     * @return A nonnull reference if a name match's been found, otherwise null.
+     * @throws IllegalArgumentException If the component is not assignable to <i>componentClass</i>.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ComponentRef<T> ref(@NonNull String componentName, @NonNull Class<T> componentClass) {
+        ComponentHolder holder = this.holderFor(componentName);
+        if (holder == null) {
+            return null;
+        }
+
+        Class<T> type = (Class<T>) ComponentTypeIndex.wrap(componentClass);
+        Class<?> registeredClass = this.registry.componentClass(componentName);
+        if (registeredClass == null || !type.isAssignableFrom(ComponentTypeIndex.wrap(registeredClass))) {
+            throw new IllegalArgumentException("Component " + componentName + " is not of type " + componentClass.getName());
+        }
+
+        return new ComponentRef<>(componentName, type, holder, (holder.isPlain() ? type.cast(holder.get()) : null));
+    }
+
+    /**
+     * Returns the holder of the component that would be returned by {@link #componentFor(Class)}.
+     * @param componentType The class type of the component.
+     * @return The holder or null if there's no such component.
+     */
+    ComponentHolder holderFor(Class<?> componentType) {
+        String componentName = this.typeIndex.componentName(ComponentTypeIndex.wrap(componentType));
+        return (componentName == null ? null : this.holderFor(componentName));
+    }
+
+    private ComponentHolder holderFor(String componentName) {
+        return this.registry.holder(componentName);
     }
 }
@@ -6,12 +6,13 @@ import lombok.SneakyThrows;
 import java.io.File;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.function.Consumer;
 
 /**
- * CLI utility which may be executed during build time to produce JSON file with classpath scan information.
+ * CLI utility which may be executed during build time to produce JSON or compact binary file with classpath scan information.
  * Useful for platforms with limited reflection capabilities (Android, GraalVM native images, etc.).
  * To see the supported parameters execute it without any arguments, or only with '-h' parameter.
  */
@@ -23,8 +24,13 @@ public class BuildTimeScan implements Consumer<String[]> {
     static String BASE_PKG_IGNORED = "-ibp";
     static String CLASS_IGNORED = "-ic";
     static String OVERRIDING_CLASSPATH = "-oc";
+    static String FORMAT = "-fmt";
 
-    String outFile = "tinydi-scanresult.json";
+    static String FORMAT_JSON = "json";
+    static String FORMAT_BINARY = "bin";
+
+    String outFile;
+    String format = FORMAT_JSON;
     String outDir;
     Set<String> basePackages = new LinkedHashSet<>();
     Set<String> ignoredBasePackages = new LinkedHashSet<>();
@@ -38,10 +44,11 @@ public class BuildTimeScan implements Consumer<String[]> {
         System.out.println("  -od<output_directory> -bp<fqdn_base_package>...");
         System.out.println("  [-oc<overriding_fqdn_classpath>]...");
         System.out.println("  [-ibp<fqdn_base_package_to_ignore>]... [-ic<fqdn_class_to_ignore>]...");
-        System.out.println("  [-of<output_file_name>]");
+        System.out.println("  [-of<output_file_name>] [-fmt<json|bin>]");
         System.out.println();
         System.out.println("The parameter values must follow without spaces. Any parameter may be repeated more than once.");
-        System.out.println("Only the last value of parameters -of and -od will be respected.");
+        System.out.println("Only the last value of parameters -of, -od, and -fmt will be respected.");
+        System.out.println("The binary format must be loaded with TinyDI.Config#staticBinaryScan.");
     }
 
     private void parseArgs(String[] args) {
@@ -62,9 +69,19 @@ public class BuildTimeScan implements Consumer<String[]> {
                 ignoredClasses.add(arg.substring(CLASS_IGNORED.length()));
             } else if (arg.startsWith(OVERRIDING_CLASSPATH)) {
                 overridingClasspaths.add(arg.substring(OVERRIDING_CLASSPATH.length()));
+            } else if (arg.startsWith(FORMAT)) {
+                format = arg.substring(FORMAT.length());
             }
         }
 
+        if (!FORMAT_JSON.equals(format) && !FORMAT_BINARY.equals(format)) {
+            throw new RuntimeException("Unsupported output format " + format);
+        }
+
+        if (outFile == null) {
+            outFile = "tinydi-scanresult." + format;
+        }
+
         if ((outDir == null || outDir.isBlank()) && (basePackages.isEmpty())) {
             throw new RuntimeException("Output directory and base package name are needed at least");
         }
@@ -76,16 +93,22 @@ public class BuildTimeScan implements Consumer<String[]> {
 
         this.parseArgs(args);
 
-        File jsonFile = new File(this.outDir, this.outFile);
+        File outputFile = new File(this.outDir, this.outFile);
 
-        String json = TinyDI.config()
+        TinyDI.Config config = TinyDI.config()
                 .basePackages(this.basePackages.toArray(new String[0]))
                 .ignoredBasePackages(this.ignoredBasePackages.toArray(new String[0]))
                 .ignoredClasses(this.ignoredClasses.toArray(new String[0]))
-                .overrideClasspath(this.overridingClasspaths.toArray(new String[0]))
-                .configureForStaticScan();
+                .overrideClasspath(this.overridingClasspaths.toArray(new String[0]));
+
+        if (FORMAT_BINARY.equals(this.format)) {
+            Files.write(outputFile.toPath(), config.configureForStaticBinaryScan());
+            return;
+        }
+
+        String json = config.configureForStaticScan();
 
-        try (PrintWriter writer = new PrintWriter(jsonFile, StandardCharsets.UTF_8)) {
+        try (PrintWriter writer = new PrintWriter(outputFile, StandardCharsets.UTF_8)) {
             writer.print(json);
         }
     }
@@ -0,0 +1,17 @@
+package com.github.zhgzhg.tinydi.build;
+
+import com.github.zhgzhg.tinydi.meta.descriptors.ComponentDescriptor;
+
+import java.util.List;
+
+/**
+ * Index of DI components produced at compile time by the <i>tinydi-processor</i> annotation processor, allowing TinyDI to skip the
+ * classpath scanning. The generated implementations are registered as services in <i>META-INF/services</i>.
+ */
+public interface ComponentIndex {
+    /**
+     * Returns the indexed components.
+     * @return Nonnull list of the component descriptors.
+     */
+    List<ComponentDescriptor> components();
+}
@@ -0,0 +1,13 @@
+package com.github.zhgzhg.tinydi.components;
+
+import java.util.function.Supplier;
+
+/**
+ * Deferred reference to a component, injected into constructor parameters of type <i>Provider&lt;T&gt;</i> or
+ * <i>Supplier&lt;T&gt;</i>. Each {@link #get()} call resolves the component according to its instantiation scope, for e.g. a
+ * prototype component is instantiated on every call. The resolution happens on the first call at the latest, thus the provided
+ * component may be created after the component depending on it.
+ * @param <T> The type of the provided component.
+ */
+public interface Provider<T> extends Supplier<T> {
+}
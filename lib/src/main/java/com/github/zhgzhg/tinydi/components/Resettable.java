@@ -0,0 +1,12 @@
+package com.github.zhgzhg.tinydi.components;
+
+/**
+ * Interface for {@link com.github.zhgzhg.tinydi.meta.enums.ScopeDI#POOLED} components which should restore their initial state before
+ * being reused. The method is invoked when the instance is released back into its pool.
+ */
+public interface Resettable {
+    /**
+     * Clears the state accumulated during the last use of the component.
+     */
+    void reset();
+}
@@ -0,0 +1,61 @@
+package com.github.zhgzhg.tinydi.dynamic;
+
+import com.github.zhgzhg.tinydi.jfr.JfrSupport;
+import com.github.zhgzhg.tinydi.jfr.ProxyInvocationEvent;
+import com.github.zhgzhg.tinydi.meta.annotations.Recorded;
+
+import java.util.function.Supplier;
+
+/**
+ * Base class of the generated at runtime proxies, which are the faster alternative of {@link TinyDynamicDI.TransparentInvocationHandler}
+ * based ones. The generated subclasses implement the interfaces of the instance and of the @{@link Recorded} annotation with methods
+ * directly delegating to the supplied instance and to the annotation respectively. The delegation to the instance is wrapped by
+ * {@link #beginInvocation()} and {@link #endInvocation(Object, String)}, which emit the Java Flight Recorder events if enabled.
+ * See {@link ProxyClassGenerator}.
+ */
+abstract class DelegatingProxy {
+
+    final Supplier<Object> instanceSupplier;
+    final Class<?> instanceClass;
+    final Recorded recorded;
+
+    DelegatingProxy(Supplier<Object> instanceSupplier, Class<?> instanceClass, Recorded recorded) {
+        this.instanceSupplier = instanceSupplier;
+        this.instanceClass = instanceClass;
+        this.recorded = recorded;
+    }
+
+    /**
+     * Starts the timing of an invocation delegated to the instance. Called by the generated methods.
+     * @return The started event, or null if the proxy invocation events aren't recorded.
+     */
+    final Object beginInvocation() {
+        return (JfrSupport.AVAILABLE ? ProxyInvocationEvent.startIfEnabled() : null);
+    }
+
+    /**
+     * Completes the timing of an invocation delegated to the instance, normally or abruptly. Called by the generated methods.
+     * @param event The result of {@link #beginInvocation()}.
+     * @param method The name of the invoked method.
+     */
+    final void endInvocation(Object event, String method) {
+        if (event != null) {
+            ((ProxyInvocationEvent) event).end(this.instanceClass, method);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return this.instanceSupplier.get().equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.instanceSupplier.get().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.instanceSupplier.get().toString();
+    }
+}
@@ -0,0 +1,574 @@
+package com.github.zhgzhg.tinydi.dynamic;
+
+import com.github.zhgzhg.tinydi.meta.annotations.Recorded;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Generates {@link DelegatingProxy} subclasses as hidden classes (Java 15 or later). Every implemented interface method consists of
+ * straight-line bytecode loading the delegate from a field, and invoking the same method on it, thus it costs almost the same as a
+ * direct call. The delegation to the instance is surrounded by the calls emitting the proxy invocation events, which are close to
+ * free while the events aren't recorded. The generated classes are cached per instance class and annotation class.
+ */
+final class ProxyClassGenerator {
+
+    private static final String PROXY_CLASS_NAME = DelegatingProxy.class.getName().replace('.', '/') + "$$Generated";
+    private static final String BASE_CLASS_NAME = DelegatingProxy.class.getName().replace('.', '/');
+    private static final String SUPPLIER_FIELD_DESCRIPTOR = "L" + Supplier.class.getName().replace('.', '/') + ";";
+    private static final String RECORDED_FIELD_DESCRIPTOR = "L" + Recorded.class.getName().replace('.', '/') + ";";
+    private static final String BEGIN_INVOCATION_DESCRIPTOR = "()Ljava/lang/Object;";
+    private static final String END_INVOCATION_DESCRIPTOR = "(Ljava/lang/Object;Ljava/lang/String;)V";
+    private static final String CONSTRUCTOR_DESCRIPTOR = MethodType.methodType(void.class, Supplier.class, Class.class, Recorded.class)
+            .toMethodDescriptorString();
+
+    private static final MethodType PROXY_FACTORY_TYPE = MethodType.methodType(Object.class, Supplier.class, Class.class, Recorded.class);
+
+    private static final Method DEFINE_HIDDEN_CLASS = findDefineHiddenClass();
+    private static final Object NO_CLASS_OPTIONS = (DEFINE_HIDDEN_CLASS == null
+            ? null : Array.newInstance(DEFINE_HIDDEN_CLASS.getParameterTypes()[2].getComponentType(), 0));
+
+    private ProxyClassGenerator() { }
+
+    /**
+     * Lazily initialized cache of the proxy factories. It's kept aside, so {@link ClassValue}, which some runtimes lack, is needed only
+     * once a proxy class is actually generated.
+     */
+    private static final class Factories {
+        private static final ClassValue<ConcurrentMap<Class<?>, Optional<MethodHandle>>> BY_INSTANCE_CLASS = new ClassValue<>() {
+            @Override
+            protected ConcurrentMap<Class<?>, Optional<MethodHandle>> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+    }
+
+    /**
+     * Creates a proxy instance of a generated class.
+     * @param instanceSupplier The supplier of the instance the interface methods of <i>instanceInterfaces</i> delegate to.
+     * @param instanceClass The class of the supplied instance.
+     * @param instanceInterfaces The interfaces the supplied instance implements, which the proxy will implement too.
+     * @param recorded The annotation instance the interface methods of <i>recordedInterfaces</i> delegate to.
+     * @param recordedInterfaces The interfaces the annotation instance implements, which the proxy will implement too.
+     * @return The proxy instance, or null if hidden classes aren't supported, or some interface cannot be implemented by the
+     * generated class.
+     */
+    static Object newProxy(Supplier<Object> instanceSupplier, Class<?> instanceClass, Class<?>[] instanceInterfaces, Recorded recorded,
+            Class<?>[] recordedInterfaces) {
+
+        if (DEFINE_HIDDEN_CLASS == null) {
+            return null;
+        }
+
+        Optional<MethodHandle> factory = Factories.BY_INSTANCE_CLASS.get(instanceClass).computeIfAbsent(recorded.getClass(),
+                recordedClass -> generate(instanceInterfaces, recordedInterfaces));
+
+        if (factory.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return (Object) factory.get().invokeExact(instanceSupplier, instanceClass, recorded);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Optional<MethodHandle> generate(Class<?>[] instanceInterfaces, Class<?>[] recordedInterfaces) {
+        Module module = ProxyClassGenerator.class.getModule();
+
+        for (Class<?>[] interfaces : Arrays.asList(instanceInterfaces, recordedInterfaces)) {
+            for (Class<?> iface : interfaces) {
+                if (!isImplementable(iface, module)) {
+                    return Optional.empty();
+                }
+            }
+        }
+
+        // the first interface declaring a method with a particular signature wins, as it is with java.lang.reflect.Proxy
+        Map<String, Map.Entry<Method, Boolean>> methods = new LinkedHashMap<>();
+        for (Class<?>[] interfaces : Arrays.asList(instanceInterfaces, recordedInterfaces)) {
+            boolean delegatesToRecorded = (interfaces == recordedInterfaces);
+
+            for (Class<?> iface : interfaces) {
+                for (Method method : iface.getMethods()) {
+                    if (Modifier.isStatic(method.getModifiers()) || isObjectMethod(method)) {
+                        continue;
+                    }
+
+                    if (!isImplementable(method.getDeclaringClass(), module)) {
+                        return Optional.empty();
+                    }
+
+                    methods.putIfAbsent(method.getName() + MethodType.methodType(method.getReturnType(), method.getParameterTypes())
+                            .toMethodDescriptorString(), Map.entry(method, delegatesToRecorded));
+                }
+            }
+        }
+
+        try {
+            byte[] classBytes = new ClassWriter().write(instanceInterfaces, recordedInterfaces, methods.values());
+
+            MethodHandles.Lookup lookup = (MethodHandles.Lookup) DEFINE_HIDDEN_CLASS.invoke(
+                    MethodHandles.lookup(), classBytes, true, NO_CLASS_OPTIONS);
+
+            return Optional.of(lookup
+                    .findConstructor(lookup.lookupClass(), MethodType.methodType(void.class, Supplier.class, Class.class, Recorded.class))
+                    .asType(PROXY_FACTORY_TYPE));
+
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return Optional.empty();
+        }
+    }
+
+    private static boolean isImplementable(Class<?> iface, Module module) {
+        if (!Modifier.isPublic(iface.getModifiers()) || !iface.getModule().isExported(iface.getPackageName(), module)) {
+            return false;
+        }
+
+        try {
+            // the generated class resolves the interfaces by name through TinyDI's class loader
+            if (Class.forName(iface.getName(), false, ProxyClassGenerator.class.getClassLoader()) != iface) {
+                return false;
+            }
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+
+        module.addReads(iface.getModule());
+        return true;
+    }
+
+    private static boolean isObjectMethod(Method method) {
+        try {
+            Object.class.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static Method findDefineHiddenClass() {
+        try {
+            Class<?> classOption = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            return MethodHandles.Lookup.class.getMethod("defineHiddenClass", byte[].class, boolean.class,
+                    Array.newInstance(classOption, 0).getClass());
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Minimal class file writer producing {@link DelegatingProxy} subclasses. Since the generated methods contain no branches, the
+     * only stack map frame needed is the one of the exception handler completing the invocation event.
+     */
+    private static final class ClassWriter {
+        private static final int CLASS_FILE_VERSION = 55; // Java 11
+
+        private static final int ACC_PUBLIC = 0x0001;
+        private static final int ACC_FINAL = 0x0010;
+        private static final int ACC_SUPER = 0x0020;
+
+        private static final int ALOAD_0 = 0x2a;
+        private static final int ALOAD_1 = 0x2b;
+        private static final int ALOAD_2 = 0x2c;
+        private static final int ALOAD_3 = 0x2d;
+        private static final int ILOAD = 0x15;
+        private static final int LLOAD = 0x16;
+        private static final int FLOAD = 0x17;
+        private static final int DLOAD = 0x18;
+        private static final int ALOAD = 0x19;
+        private static final int ISTORE = 0x36;
+        private static final int LSTORE = 0x37;
+        private static final int FSTORE = 0x38;
+        private static final int DSTORE = 0x39;
+        private static final int ASTORE = 0x3a;
+        private static final int LDC_W = 0x13;
+        private static final int IRETURN = 0xac;
+        private static final int LRETURN = 0xad;
+        private static final int FRETURN = 0xae;
+        private static final int DRETURN = 0xaf;
+        private static final int ARETURN = 0xb0;
+        private static final int RETURN = 0xb1;
+        private static final int ATHROW = 0xbf;
+        private static final int GETFIELD = 0xb4;
+        private static final int INVOKEVIRTUAL = 0xb6;
+        private static final int INVOKESPECIAL = 0xb7;
+        private static final int INVOKEINTERFACE = 0xb9;
+        private static final int CHECKCAST = 0xc0;
+
+        private static final int CONSTANT_UTF8 = 1;
+        private static final int CONSTANT_CLASS = 7;
+        private static final int CONSTANT_STRING = 8;
+        private static final int CONSTANT_FIELDREF = 9;
+        private static final int CONSTANT_METHODREF = 10;
+        private static final int CONSTANT_INTERFACE_METHODREF = 11;
+        private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+        private static final int FULL_FRAME = 255;
+        private static final int ITEM_INTEGER = 1;
+        private static final int ITEM_FLOAT = 2;
+        private static final int ITEM_DOUBLE = 3;
+        private static final int ITEM_LONG = 4;
+        private static final int ITEM_OBJECT = 7;
+
+        private final ByteArrayOutputStream constantPoolBytes = new ByteArrayOutputStream();
+        private final DataOutputStream constantPool = new DataOutputStream(this.constantPoolBytes);
+        private final Map<String, Integer> constants = new HashMap<>();
+        private int constantsCount = 1;
+
+        byte[] write(Class<?>[] instanceInterfaces, Class<?>[] recordedInterfaces, Iterable<Map.Entry<Method, Boolean>> methods) {
+            try {
+                ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+                DataOutputStream body = new DataOutputStream(bodyBytes);
+
+                body.writeShort(ACC_FINAL | ACC_SUPER);
+                body.writeShort(this.classConstant(PROXY_CLASS_NAME));
+                body.writeShort(this.classConstant(BASE_CLASS_NAME));
+
+                List<Class<?>> interfaces = new ArrayList<>(Arrays.asList(instanceInterfaces));
+                interfaces.addAll(Arrays.asList(recordedInterfaces));
+                body.writeShort(interfaces.size());
+                for (Class<?> iface : interfaces) {
+                    body.writeShort(this.classConstant(internalName(iface)));
+                }
+
+                body.writeShort(0); // fields
+
+                List<byte[]> methodsBytes = new ArrayList<>();
+                methodsBytes.add(this.constructor());
+                for (Map.Entry<Method, Boolean> method : methods) {
+                    methodsBytes.add(this.delegatingMethod(method.getKey(), method.getValue()));
+                }
+                body.writeShort(methodsBytes.size());
+                for (byte[] methodBytes : methodsBytes) {
+                    body.write(methodBytes);
+                }
+
+                body.writeShort(0); // attributes
+
+                ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(classBytes);
+                out.writeInt(0xCAFEBABE);
+                out.writeShort(0);
+                out.writeShort(CLASS_FILE_VERSION);
+                out.writeShort(this.constantsCount);
+                out.write(this.constantPoolBytes.toByteArray());
+                out.write(bodyBytes.toByteArray());
+                return classBytes.toByteArray();
+
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private byte[] constructor() throws IOException {
+            ByteArrayOutputStream code = new ByteArrayOutputStream();
+            code.write(ALOAD_0);
+            code.write(ALOAD_1);
+            code.write(ALOAD_2);
+            code.write(ALOAD_3);
+            code.write(INVOKESPECIAL);
+            writeShort(code, this.memberConstant(CONSTANT_METHODREF, BASE_CLASS_NAME, "<init>", CONSTRUCTOR_DESCRIPTOR));
+            code.write(RETURN);
+
+            return this.method(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, 4, 4, code.toByteArray(), null, null);
+        }
+
+        private byte[] delegatingMethod(Method method, boolean delegatesToRecorded) throws IOException {
+            String owner = internalName(method.getDeclaringClass());
+            String descriptor = MethodType.methodType(method.getReturnType(), method.getParameterTypes()).toMethodDescriptorString();
+
+            if (delegatesToRecorded) {
+                ByteArrayOutputStream code = new ByteArrayOutputStream();
+                code.write(ALOAD_0);
+                code.write(GETFIELD);
+                writeShort(code, this.memberConstant(CONSTANT_FIELDREF, BASE_CLASS_NAME, "recorded", RECORDED_FIELD_DESCRIPTOR));
+                int slot = this.invokeDelegate(code, method, owner, descriptor);
+                code.write(returnOpcode(method.getReturnType()));
+
+                int maxStack = Math.max(Math.max(2, slot), slotsOf(method.getReturnType()));
+                return this.method(ACC_PUBLIC, method.getName(), descriptor, maxStack, slot, code.toByteArray(), null, null);
+            }
+
+            // event = this.beginInvocation(); try { result = delegate.method(...); } catch (any) { end; throw } end; return result
+            ByteArrayOutputStream code = new ByteArrayOutputStream();
+            int eventSlot = slotsOf(method.getParameterTypes()) + 1;
+            int resultSlot = eventSlot + 1;
+            Class<?> returnType = method.getReturnType();
+
+            code.write(ALOAD_0);
+            code.write(INVOKEVIRTUAL);
+            writeShort(code, this.memberConstant(CONSTANT_METHODREF, BASE_CLASS_NAME, "beginInvocation", BEGIN_INVOCATION_DESCRIPTOR));
+            code.write(ASTORE);
+            code.write(eventSlot);
+
+            int tryStart = code.size();
+            code.write(ALOAD_0);
+            code.write(GETFIELD);
+            writeShort(code, this.memberConstant(CONSTANT_FIELDREF, BASE_CLASS_NAME, "instanceSupplier", SUPPLIER_FIELD_DESCRIPTOR));
+            code.write(INVOKEINTERFACE);
+            writeShort(code, this.memberConstant(CONSTANT_INTERFACE_METHODREF, internalName(Supplier.class), "get",
+                    "()Ljava/lang/Object;"));
+            code.write(1);
+            code.write(0);
+            int slot = this.invokeDelegate(code, method, owner, descriptor);
+            int tryEnd = code.size();
+
+            if (returnType != void.class) {
+                code.write(storeOpcode(returnType));
+                code.write(resultSlot);
+            }
+            this.endInvocation(code, eventSlot, method.getName());
+            if (returnType != void.class) {
+                code.write(loadOpcode(returnType));
+                code.write(resultSlot);
+            }
+            code.write(returnOpcode(returnType));
+
+            int handler = code.size();
+            this.endInvocation(code, eventSlot, method.getName());
+            code.write(ATHROW);
+
+            ByteArrayOutputStream exceptionTable = new ByteArrayOutputStream();
+            writeShort(exceptionTable, 1);
+            writeShort(exceptionTable, tryStart);
+            writeShort(exceptionTable, tryEnd);
+            writeShort(exceptionTable, handler);
+            writeShort(exceptionTable, 0); // any
+
+            int maxStack = Math.max(4, slot);
+            int maxLocals = resultSlot + slotsOf(returnType);
+            return this.method(ACC_PUBLIC, method.getName(), descriptor, maxStack, maxLocals, code.toByteArray(),
+                    exceptionTable.toByteArray(), this.handlerFrame(handler, method.getParameterTypes()));
+        }
+
+        /**
+         * Writes the checkcast of the delegate already on the stack, the loading of the parameters, and the invocation.
+         * @return The count of the local variable slots taken by this and the parameters.
+         */
+        private int invokeDelegate(ByteArrayOutputStream code, Method method, String owner, String descriptor) throws IOException {
+            code.write(CHECKCAST);
+            writeShort(code, this.classConstant(owner));
+
+            int slot = 1;
+            for (Class<?> parameterType : method.getParameterTypes()) {
+                code.write(loadOpcode(parameterType));
+                code.write(slot);
+                slot += slotsOf(parameterType);
+            }
+
+            code.write(INVOKEINTERFACE);
+            writeShort(code, this.memberConstant(CONSTANT_INTERFACE_METHODREF, owner, method.getName(), descriptor));
+            code.write(slot);
+            code.write(0);
+            return slot;
+        }
+
+        private void endInvocation(ByteArrayOutputStream code, int eventSlot, String methodName) throws IOException {
+            code.write(ALOAD_0);
+            code.write(ALOAD);
+            code.write(eventSlot);
+            code.write(LDC_W);
+            writeShort(code, this.stringConstant(methodName));
+            code.write(INVOKEVIRTUAL);
+            writeShort(code, this.memberConstant(CONSTANT_METHODREF, BASE_CLASS_NAME, "endInvocation", END_INVOCATION_DESCRIPTOR));
+        }
+
+        /**
+         * Writes a StackMapTable attribute with the full frame of the exception handler - this, the parameters, and the event as
+         * locals, and the thrown exception on the stack.
+         */
+        private byte[] handlerFrame(int handler, Class<?>[] parameterTypes) throws IOException {
+            ByteArrayOutputStream frame = new ByteArrayOutputStream();
+            frame.write(FULL_FRAME);
+            writeShort(frame, handler);
+
+            writeShort(frame, parameterTypes.length + 2);
+            this.verificationType(frame, PROXY_CLASS_NAME);
+            for (Class<?> parameterType : parameterTypes) {
+                if (parameterType.isPrimitive()) {
+                    frame.write(parameterType == long.class ? ITEM_LONG : parameterType == double.class ? ITEM_DOUBLE
+                            : parameterType == float.class ? ITEM_FLOAT : ITEM_INTEGER);
+                } else {
+                    this.verificationType(frame, internalName(parameterType));
+                }
+            }
+            this.verificationType(frame, "java/lang/Object");
+
+            writeShort(frame, 1);
+            this.verificationType(frame, "java/lang/Throwable");
+
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(result);
+            out.writeShort(this.utf8Constant("StackMapTable"));
+            out.writeInt(2 + frame.size());
+            out.writeShort(1);
+            out.write(frame.toByteArray());
+            return result.toByteArray();
+        }
+
+        private void verificationType(ByteArrayOutputStream frame, String internalName) throws IOException {
+            frame.write(ITEM_OBJECT);
+            writeShort(frame, this.classConstant(internalName));
+        }
+
+        private byte[] method(int access, String name, String descriptor, int maxStack, int maxLocals, byte[] code,
+                byte[] exceptionTable, byte[] stackMapTable) throws IOException {
+
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(result);
+
+            int exceptionTableLength = (exceptionTable == null ? 2 : exceptionTable.length);
+            int attributesLength = (stackMapTable == null ? 2 : 2 + stackMapTable.length);
+
+            out.writeShort(access);
+            out.writeShort(this.utf8Constant(name));
+            out.writeShort(this.utf8Constant(descriptor));
+            out.writeShort(1);
+
+            out.writeShort(this.utf8Constant("Code"));
+            out.writeInt(2 + 2 + 4 + code.length + exceptionTableLength + attributesLength);
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(code.length);
+            out.write(code);
+            if (exceptionTable == null) {
+                out.writeShort(0);
+            } else {
+                out.write(exceptionTable);
+            }
+            if (stackMapTable == null) {
+                out.writeShort(0);
+            } else {
+                out.writeShort(1);
+                out.write(stackMapTable);
+            }
+
+            return result.toByteArray();
+        }
+
+        private int utf8Constant(String value) throws IOException {
+            Integer index = this.constants.get("U" + value);
+            if (index == null) {
+                this.constantPool.writeByte(CONSTANT_UTF8);
+                this.constantPool.writeUTF(value);
+                index = this.constantsCount++;
+                this.constants.put("U" + value, index);
+            }
+            return index;
+        }
+
+        private int stringConstant(String value) throws IOException {
+            Integer index = this.constants.get("S" + value);
+            if (index == null) {
+                int valueIndex = this.utf8Constant(value);
+                this.constantPool.writeByte(CONSTANT_STRING);
+                this.constantPool.writeShort(valueIndex);
+                index = this.constantsCount++;
+                this.constants.put("S" + value, index);
+            }
+            return index;
+        }
+
+        private int classConstant(String internalName) throws IOException {
+            Integer index = this.constants.get("C" + internalName);
+            if (index == null) {
+                int nameIndex = this.utf8Constant(internalName);
+                this.constantPool.writeByte(CONSTANT_CLASS);
+                this.constantPool.writeShort(nameIndex);
+                index = this.constantsCount++;
+                this.constants.put("C" + internalName, index);
+            }
+            return index;
+        }
+
+        private int memberConstant(int tag, String owner, String name, String descriptor) throws IOException {
+            String key = tag + owner + "." + name + descriptor;
+            Integer index = this.constants.get(key);
+            if (index == null) {
+                int classIndex = this.classConstant(owner);
+                int nameIndex = this.utf8Constant(name);
+                int descriptorIndex = this.utf8Constant(descriptor);
+
+                this.constantPool.writeByte(CONSTANT_NAME_AND_TYPE);
+                this.constantPool.writeShort(nameIndex);
+                this.constantPool.writeShort(descriptorIndex);
+                int nameAndTypeIndex = this.constantsCount++;
+
+                this.constantPool.writeByte(tag);
+                this.constantPool.writeShort(classIndex);
+                this.constantPool.writeShort(nameAndTypeIndex);
+                index = this.constantsCount++;
+                this.constants.put(key, index);
+            }
+            return index;
+        }
+
+        private static void writeShort(ByteArrayOutputStream out, int value) {
+            out.write(value >>> 8);
+            out.write(value);
+        }
+
+        private static String internalName(Class<?> type) {
+            return type.getName().replace('.', '/');
+        }
+
+        private static int slotsOf(Class<?> type) {
+            return (type == long.class || type == double.class ? 2 : (type == void.class ? 0 : 1));
+        }
+
+        private static int slotsOf(Class<?>[] types) {
+            int result = 0;
+            for (Class<?> type : types) {
+                result += slotsOf(type);
+            }
+            return result;
+        }
+
+        private static int storeOpcode(Class<?> type) {
+            if (!type.isPrimitive()) return ASTORE;
+            if (type == long.class) return LSTORE;
+            if (type == float.class) return FSTORE;
+            if (type == double.class) return DSTORE;
+            return ISTORE;
+        }
+
+        private static int loadOpcode(Class<?> type) {
+            if (!type.isPrimitive()) return ALOAD;
+            if (type == long.class) return LLOAD;
+            if (type == float.class) return FLOAD;
+            if (type == double.class) return DLOAD;
+            return ILOAD;
+        }
+
+        private static int returnOpcode(Class<?> type) {
+            if (type == void.class) return RETURN;
+            if (!type.isPrimitive()) return ARETURN;
+            if (type == long.class) return LRETURN;
+            if (type == float.class) return FRETURN;
+            if (type == double.class) return DRETURN;
+            return IRETURN;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.github.zhgzhg.tinydi.dynamic;
 
+import com.github.zhgzhg.tinydi.jfr.JfrSupport;
+import com.github.zhgzhg.tinydi.jfr.ProxyInvocationEvent;
 import com.github.zhgzhg.tinydi.meta.annotations.Recorded;
 import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
 import lombok.NonNull;
@@ -17,6 +19,21 @@ import java.util.function.Supplier;
 @UtilityClass
 public class TinyDynamicDI {
 
+    /**
+     * Whether the runtime supports hidden classes (Java 15 or later), thus proxies can be generated. It's checked by name, so
+     * {@link ProxyClassGenerator} is never loaded on runtimes lacking the APIs it depends on, like the older Android versions.
+     */
+    private static final boolean HIDDEN_CLASSES_SUPPORTED = isHiddenClassesSupported();
+
+    private static boolean isHiddenClassesSupported() {
+        try {
+            Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption", false, TinyDynamicDI.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
     /**
      * Helper used to associate a @{@link Recorded} annotation implementation and an instance of an object not implementing.
      */
@@ -49,14 +66,29 @@ public class TinyDynamicDI {
                 }
             }
 
-            Object instance = this.supplyInstance();
-            return method.invoke(instance, args);
+            if (!JfrSupport.AVAILABLE) {
+                return method.invoke(this.supplyInstance(), args);
+            }
+
+            ProxyInvocationEvent event = ProxyInvocationEvent.startIfEnabled();
+            if (event == null) {
+                return method.invoke(this.supplyInstance(), args);
+            }
+
+            try {
+                return method.invoke(this.supplyInstance(), args);
+            } finally {
+                event.end(this.instanceClass, method.getName());
+            }
         }
     }
 
     /**
      * Attaches a {@link Recorded} instance to non-annotated object by creating a proxy object around it.
      * Useful when dynamically injecting more components into an already initialized TinyDI context.
+     * When the runtime supports hidden classes, and all interfaces are public, the proxy is an instance of a generated class
+     * delegating directly to the instance, otherwise it's a {@link Proxy} with {@link TransparentInvocationHandler}. Both emit the
+     * Java Flight Recorder proxy invocation events when enabled.
      * @param instanceSupplier The instance supplier whose instance will be bound to the annotation.
      * @param instanceClass The type of the instance.
      * @param recorded An {@link Recorded} instance with the specified values. Usually {@link RecordedAnnotation} can be used for the purpose.
@@ -75,6 +107,13 @@ public class TinyDynamicDI {
         System.arraycopy(recordInterfaces, 0, allImplementedInterfaces, interfaces.length, recordInterfaces.length);
         //allImplementedInterfaces[allImplementedInterfaces.length - 1] = Supplier.class;
 
+        if (HIDDEN_CLASSES_SUPPORTED) {
+            Object proxy = ProxyClassGenerator.newProxy(instanceSupplier, instanceClass, interfaces, recorded, recordInterfaces);
+            if (proxy != null) {
+                return (T) proxy;
+            }
+        }
+
         return (T) Proxy.newProxyInstance(
                 TinyDynamicDI.class.getClassLoader(), //instanceClass.getClassLoader(),
                 allImplementedInterfaces,
@@ -83,7 +122,7 @@ public class TinyDynamicDI {
     }
 
     /**
-     * Obtains the class behind a proxy object with TinyDI's {@link TransparentInvocationHandler}.
+     * Obtains the class behind a proxy object created via {@link #attachRecordedAnnotation}.
      * @param instance The instance to work with.
      * @return The class behind the proxy object, or the <i>instance</i>'s class if the latter is not a proxy.
      * @throws ClassCastException if the proxy object's handler is not of {@link TransparentInvocationHandler} type.
@@ -91,6 +130,10 @@ public class TinyDynamicDI {
     public static Class<?> realClass(@NonNull Object instance) {
         Class<?> clazz = instance.getClass();
 
+        if (instance instanceof DelegatingProxy) {
+            return ((DelegatingProxy) instance).instanceClass;
+        }
+
         while (clazz != null && Proxy.isProxyClass(clazz)
                 && Proxy.getInvocationHandler(instance).getClass().isAssignableFrom(TransparentInvocationHandler.class)) {
 
@@ -102,12 +145,16 @@ public class TinyDynamicDI {
     }
 
     /**
-     * Obtains the instance behind a proxy object with TinyDI's {@link TransparentInvocationHandler}.
+     * Obtains the instance behind a proxy object created via {@link #attachRecordedAnnotation}.
      * @param instance The instance to work with.
      * @return The instance behind the proxy object, or the actual <i>instance</i> if the latter is not a proxy.
      * @throws ClassCastException if the proxy object's handler is not of {@link TransparentInvocationHandler} type.
      */
     public static Object realInstance(Object instance) {
+        while (instance instanceof DelegatingProxy) {
+            instance = ((DelegatingProxy) instance).instanceSupplier.get();
+        }
+
         while (instance != null && Proxy.isProxyClass(instance.getClass())
                 && Proxy.getInvocationHandler(instance).getClass().isAssignableFrom(TransparentInvocationHandler.class)) {
 
@@ -122,6 +169,10 @@ public class TinyDynamicDI {
      * @return Nonnull value, or null if the instance is not proxied.
      */
     public static ScopeDI scopeOfProxy(Object instance) {
+        if (instance instanceof DelegatingProxy) {
+            return ((DelegatingProxy) instance).recorded.scope();
+        }
+
         if (instance != null && Proxy.isProxyClass(instance.getClass())
                 && Proxy.getInvocationHandler(instance).getClass().isAssignableFrom(TransparentInvocationHandler.class)) {
 
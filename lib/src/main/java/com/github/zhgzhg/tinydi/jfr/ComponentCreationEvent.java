@@ -0,0 +1,52 @@
+package com.github.zhgzhg.tinydi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Creation of a component by TinyDI, including the resolution of its dependencies.
+ */
+@Name("com.github.zhgzhg.tinydi.ComponentCreation")
+@Label("Component Creation")
+@Category("TinyDI")
+@Description("Dependency resolution and invocation of the constructor or @Recorded method of a component")
+public class ComponentCreationEvent extends Event {
+
+    @Label("Component Name")
+    String componentName;
+
+    @Label("Origin")
+    @Description("The constructor's class, or the class and the name of the @Recorded method")
+    String origin;
+
+    @Label("Scope")
+    String scope;
+
+    /**
+     * Creates the event and starts its timing.
+     * @return New event, which must be completed via {@link #end}.
+     */
+    public static ComponentCreationEvent start() {
+        ComponentCreationEvent event = new ComponentCreationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Completes the event and commits it if enabled.
+     * @param componentName The name of the component.
+     * @param origin The constructor or method creating the component.
+     * @param scope The instantiation strategy of the component.
+     */
+    public void end(String componentName, String origin, Enum<?> scope) {
+        if (this.shouldCommit()) {
+            this.componentName = componentName;
+            this.origin = origin;
+            this.scope = (scope == null ? null : scope.name());
+            this.commit();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.zhgzhg.tinydi.jfr;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Guards the emission of TinyDI's Java Flight Recorder events. The jdk.jfr module is optional, so the event classes must be touched
+ * only if {@link #AVAILABLE} is true. Otherwise they'd fail to load on runtimes without it, like Android or minimal jlink images.
+ */
+@UtilityClass
+public class JfrSupport {
+
+    /** Whether the jdk.jfr module is present, thus the events can be emitted. */
+    public static final boolean AVAILABLE = isAvailable();
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, JfrSupport.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
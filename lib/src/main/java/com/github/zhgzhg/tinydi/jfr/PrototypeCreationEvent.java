@@ -0,0 +1,43 @@
+package com.github.zhgzhg.tinydi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Creation of a new instance of a prototype component on injection or request.
+ */
+@Name("com.github.zhgzhg.tinydi.PrototypeCreation")
+@Label("Prototype Creation")
+@Category("TinyDI")
+@Description("New instance of a prototype component supplied on injection or request")
+@StackTrace(false)
+public class PrototypeCreationEvent extends Event {
+
+    @Label("Component Class")
+    Class<?> componentClass;
+
+    /**
+     * Creates the event and starts its timing.
+     * @return New event, which must be completed via {@link #end}.
+     */
+    public static PrototypeCreationEvent start() {
+        PrototypeCreationEvent event = new PrototypeCreationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Completes the event and commits it if enabled.
+     * @param instance The created instance. Can be null.
+     */
+    public void end(Object instance) {
+        if (this.shouldCommit()) {
+            this.componentClass = (instance == null ? null : instance.getClass());
+            this.commit();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.zhgzhg.tinydi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Method invocation through a proxy created by TinyDynamicDI. Since the proxies may be invoked very often, the event is disabled by
+ * default, and even when enabled only the invocations lasting at least 1 ms are recorded, unless the threshold is overridden.
+ */
+@Name("com.github.zhgzhg.tinydi.ProxyInvocation")
+@Label("Proxy Invocation")
+@Category("TinyDI")
+@Description("Method invocation through a proxy of a programmatically registered component")
+@StackTrace(false)
+@Enabled(false)
+@Threshold("1 ms")
+public class ProxyInvocationEvent extends Event {
+
+    @Label("Instance Class")
+    Class<?> instanceClass;
+
+    @Label("Method")
+    String method;
+
+    /**
+     * Creates the event and starts its timing if it's enabled in a running recording.
+     * @return New event, which must be completed via {@link #end}, or null if the event isn't enabled.
+     */
+    public static ProxyInvocationEvent startIfEnabled() {
+        ProxyInvocationEvent event = new ProxyInvocationEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Completes the event and commits it if enabled.
+     * @param instanceClass The class of the proxied instance.
+     * @param method The name of the invoked method.
+     */
+    public void end(Class<?> instanceClass, String method) {
+        if (this.shouldCommit()) {
+            this.instanceClass = instanceClass;
+            this.method = method;
+            this.commit();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.zhgzhg.tinydi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Runtime classpath scan performed via ClassGraph.
+ */
+@Name("com.github.zhgzhg.tinydi.Scan")
+@Label("Classpath Scan")
+@Category("TinyDI")
+@Description("Runtime classpath scan for DI components")
+public class ScanEvent extends Event {
+
+    @Label("Base Packages")
+    @Description("Comma-separated base packages, or empty if the whole classpath is scanned")
+    String basePackages;
+
+    @Label("Lean Scan")
+    boolean leanScan;
+
+    /**
+     * Creates the event and starts its timing.
+     * @return New event, which must be completed via {@link #end}.
+     */
+    public static ScanEvent start() {
+        ScanEvent event = new ScanEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Completes the event and commits it if enabled.
+     * @param basePackages The scanned base packages.
+     * @param leanScan Whether the lean scan mode is used.
+     */
+    public void end(Iterable<String> basePackages, boolean leanScan) {
+        if (this.shouldCommit()) {
+            this.basePackages = String.join(",", basePackages);
+            this.leanScan = leanScan;
+            this.commit();
+        }
+    }
+}
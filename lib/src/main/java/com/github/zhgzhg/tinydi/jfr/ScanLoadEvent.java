@@ -0,0 +1,49 @@
+package com.github.zhgzhg.tinydi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Loading of a static, build time produced classpath scan.
+ */
+@Name("com.github.zhgzhg.tinydi.ScanLoad")
+@Label("Static Scan Load")
+@Category("TinyDI")
+@Description("Loading of a static classpath scan in JSON or binary format")
+public class ScanLoadEvent extends Event {
+
+    @Label("Format")
+    String format;
+
+    @Label("Size")
+    @Description("The length of the JSON string, or the size of the binary scan")
+    @DataAmount
+    long size;
+
+    /**
+     * Creates the event and starts its timing.
+     * @return New event, which must be completed via {@link #end}.
+     */
+    public static ScanLoadEvent start() {
+        ScanLoadEvent event = new ScanLoadEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Completes the event and commits it if enabled.
+     * @param format The format of the scan - "json" or "binary".
+     * @param size The size of the scan, or -1 if unknown.
+     */
+    public void end(String format, long size) {
+        if (this.shouldCommit()) {
+            this.format = format;
+            this.size = size;
+            this.commit();
+        }
+    }
+}
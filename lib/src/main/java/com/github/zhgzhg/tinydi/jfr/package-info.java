@@ -0,0 +1,2 @@
+/** Java Flight Recorder events emitted by TinyDI. The package is internal, and it's used only when the jdk.jfr module is present. */
+package com.github.zhgzhg.tinydi.jfr;
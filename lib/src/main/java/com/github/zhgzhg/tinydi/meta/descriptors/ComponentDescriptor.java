@@ -0,0 +1,55 @@
+package com.github.zhgzhg.tinydi.meta.descriptors;
+
+import com.github.zhgzhg.tinydi.meta.annotations.Recorded;
+import com.github.zhgzhg.tinydi.meta.annotations.Registrar;
+import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Describes a @{@link Registrar} or @{@link Supervised} class, or an unannotated class one of them depends on, with only the
+ * information needed for its dependency injection.
+ */
+@Getter
+@AllArgsConstructor
+public final class ComponentDescriptor {
+
+    /** The role of the described class. */
+    public enum Kind {
+        /** A class annotated with @{@link Registrar}. */
+        REGISTRAR,
+        /** A class annotated with @{@link Supervised}. */
+        SUPERVISED,
+        /** An unannotated class found in the scan, which a constructor parameter of another component refers to. It is instantiated
+         * on demand as a singleton. */
+        DEPENDENCY
+    }
+
+    /** The binary name of the described class. */
+    private final String className;
+
+    /** The role of the described class. */
+    private final Kind kind;
+
+    /** The constructor TinyDI will instantiate the class with, or null if no eligible constructor exists. */
+    private final InvokableDescriptor constructor;
+
+    /** The @{@link Recorded} methods declared by the class. Always empty for non-registrars. */
+    private final List<InvokableDescriptor> records;
+
+    /**
+     * Returns the package name of the described class.
+     * @return The package name, which is empty for the default package.
+     */
+    public String getPackageName() {
+        int lastDot = this.className.lastIndexOf('.');
+        return (lastDot < 0 ? "" : this.className.substring(0, lastDot));
+    }
+
+    @Override
+    public String toString() {
+        return this.className;
+    }
+}
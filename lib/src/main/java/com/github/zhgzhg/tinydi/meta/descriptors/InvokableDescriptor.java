@@ -0,0 +1,59 @@
+package com.github.zhgzhg.tinydi.meta.descriptors;
+
+import com.github.zhgzhg.tinydi.meta.annotations.Recorded;
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Describes a constructor or a @{@link Recorded} method producing a component.
+ */
+@Getter
+@AllArgsConstructor
+public final class InvokableDescriptor {
+    /** The method name used for constructors. */
+    public static final String CONSTRUCTOR_NAME = "<init>";
+
+    /** The binary name of the class declaring the constructor or method. */
+    private final String declaringClassName;
+
+    /** The name of the method, or {@link #CONSTRUCTOR_NAME}. */
+    private final String methodName;
+
+    /** Whether the method is static. */
+    private final boolean isStatic;
+
+    /** The binary name of the produced type, which for constructors is the declaring class. */
+    private final String resultTypeName;
+
+    /** All the parameters in declaration order, including the synthetic outer instance of inner class constructors. */
+    private final List<ParameterDescriptor> parameters;
+
+    /** The name the produced component will be registered with. */
+    private final String componentName;
+
+    /** The instantiation strategy of the produced component. */
+    private final ScopeDI scope;
+
+    /** Optional, direct invoker of the constructor or method, accepting the receiver (if any) followed by the parameter values.
+     * Null when the invocation must happen via reflection. */
+    private final Function<Object[], Object> factory;
+
+    /**
+     * Checks if a constructor is described.
+     * @return True for constructors, otherwise false.
+     */
+    public boolean isConstructor() {
+        return CONSTRUCTOR_NAME.equals(this.methodName);
+    }
+
+    @Override
+    public String toString() {
+        return this.declaringClassName + (this.isConstructor() ? "" : "#" + this.methodName) + "("
+                + this.parameters.stream().map(ParameterDescriptor::toString).collect(Collectors.joining(", ")) + ")";
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.zhgzhg.tinydi.meta.descriptors;
+
+import com.github.zhgzhg.tinydi.meta.annotations.KnownAs;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes a single parameter of a component's constructor, or of a @Recorded method.
+ */
+@Getter
+@AllArgsConstructor
+public final class ParameterDescriptor {
+    /** The binary name of the parameter's erased type as returned by {@link Class#getName()}, for e.g. <i>int</i>,
+     * <i>java.util.Map$Entry</i>, or <i>[Ljava.lang.String;</i>. */
+    private final String typeName;
+
+    /** The component name specified via {@link KnownAs}, or null. */
+    private final String knownAs;
+
+    /** The binary names of the erased type arguments of the parameter's type, for e.g. <i>java.lang.String</i> for
+     * <i>Supplier&lt;? extends String&gt;</i>. Unbounded wildcards and type variables are described as <i>java.lang.Object</i>.
+     * Nonnull, and empty for non-parameterized types. */
+    private final List<String> typeArguments;
+
+    /**
+     * Describes a parameter of non-parameterized type.
+     * @param typeName The binary name of the parameter's erased type.
+     * @param knownAs The component name specified via {@link KnownAs}, or null.
+     */
+    public ParameterDescriptor(String typeName, String knownAs) {
+        this(typeName, knownAs, Collections.emptyList());
+    }
+
+    @Override
+    public String toString() {
+        String type = (this.typeArguments.isEmpty() ? this.typeName : this.typeName + "<" + String.join(", ", this.typeArguments) + ">");
+        return (this.knownAs == null ? type : "@KnownAs(\"" + this.knownAs + "\") " + type);
+    }
+}
@@ -0,0 +1,2 @@
+/** Compact, scanner-agnostic descriptions of the components participating in the DI process. */
+package com.github.zhgzhg.tinydi.meta.descriptors;
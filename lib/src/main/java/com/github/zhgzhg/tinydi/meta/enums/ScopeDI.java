@@ -5,5 +5,27 @@ public enum ScopeDI {
     /** A component is created once, and that single instance is shared within the current TinyDI execution context. */
     SINGLETON,
     /** A new instance of the component is created for every dependent. */
-    PROTOTYPE
+    PROTOTYPE,
+    /**
+     * Like {@link #SINGLETON}, but the component is created on its first injection or request instead of during the initialization
+     * of TinyDI's context. Concurrent first requests are guaranteed to create only one instance. The component is registered with
+     * the declared type of its constructor or @Recorded method until it's created.
+     * <p>
+     * This is intended - creating lazy components just to find out their classes would defeat their laziness. Hence a component
+     * declared by an interface or abstract class is found by its concrete class, or injected into other interface or abstract class
+     * parameters, only after it's been created via its name or declared type. Use those, or @KnownAs, to depend on it reliably.
+     */
+    LAZY_SINGLETON,
+    /**
+     * A component instance is created once per thread, and it's shared by all dependents and requests made from that thread.
+     * Suitable for components which are not thread-safe. The instances are released together with their threads, or via
+     * {@link com.github.zhgzhg.tinydi.TinyDI#evictThreadScopedComponents()} for threads which are reused.
+     */
+    THREAD,
+    /**
+     * Like {@link #PROTOTYPE}, but the instances released via {@link com.github.zhgzhg.tinydi.TinyDI#release(Object)} are pooled and
+     * handed out again instead of creating new ones. Suitable for expensive, short-lived components. The components implementing
+     * {@link com.github.zhgzhg.tinydi.components.Resettable} are reset before being pooled.
+     */
+    POOLED
 }
\ No newline at end of file
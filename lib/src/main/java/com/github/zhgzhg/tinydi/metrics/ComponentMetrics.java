@@ -0,0 +1,36 @@
+package com.github.zhgzhg.tinydi.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Snapshot of the runtime metrics of a single component, obtained via {@link com.github.zhgzhg.tinydi.TinyDI#metrics()}. The counters
+ * are cumulative since the metrics activation, so the rates are derived from the difference between two snapshots.
+ */
+@Getter
+@AllArgsConstructor
+public final class ComponentMetrics {
+    /** The name of the component. */
+    private final String componentName;
+
+    /** The count of lookups via {@link com.github.zhgzhg.tinydi.TinyDI#componentFor(String)}. */
+    private final long lookupsByName;
+
+    /** The count of lookups via {@link com.github.zhgzhg.tinydi.TinyDI#componentFor(Class)}. */
+    private final long lookupsByType;
+
+    /** The count of instances created by the component's prototype factory, including these created for injection. */
+    private final long prototypeCreations;
+
+    /**
+     * The count of instances created after the component's registration in any scope - by its prototype factory, on the first
+     * lookup of a lazy singleton, once per thread, or when its pool is empty.
+     */
+    private final long instanceCreations;
+
+    @Override
+    public String toString() {
+        return this.componentName + "(lookupsByName=" + this.lookupsByName + ", lookupsByType=" + this.lookupsByType
+                + ", prototypeCreations=" + this.prototypeCreations + ", instanceCreations=" + this.instanceCreations + ")";
+    }
+}
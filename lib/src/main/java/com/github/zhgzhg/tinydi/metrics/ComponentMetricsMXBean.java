@@ -0,0 +1,51 @@
+package com.github.zhgzhg.tinydi.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the runtime metrics of a TinyDI context. The maps are keyed by component name. See {@link MetricsMXBeans}.
+ */
+public interface ComponentMetricsMXBean {
+
+    /**
+     * Returns the count of lookups by name of each component.
+     * @return Nonnull map.
+     */
+    Map<String, Long> getLookupsByName();
+
+    /**
+     * Returns the count of lookups by type of each component.
+     * @return Nonnull map.
+     */
+    Map<String, Long> getLookupsByType();
+
+    /**
+     * Returns the count of created prototype instances of each component.
+     * @return Nonnull map.
+     */
+    Map<String, Long> getPrototypeCreations();
+
+    /**
+     * Returns the count of instances of each component created after its registration, in any scope.
+     * @return Nonnull map.
+     */
+    Map<String, Long> getInstanceCreations();
+
+    /**
+     * Returns the count of lookups of all components, both by name and by type.
+     * @return Non-negative number.
+     */
+    long getTotalLookups();
+
+    /**
+     * Returns the count of created prototype instances of all components.
+     * @return Non-negative number.
+     */
+    long getTotalPrototypeCreations();
+
+    /**
+     * Returns the count of instances of all components created after their registration, in any scope.
+     * @return Non-negative number.
+     */
+    long getTotalInstanceCreations();
+}
@@ -0,0 +1,100 @@
+package com.github.zhgzhg.tinydi.metrics;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Registration of {@link ComponentMetricsMXBean} instances in the platform MBean server. Requires the java.management module, and
+ * a TinyDI context with activated metrics - see {@link TinyDI.Config#metrics(boolean)}.
+ */
+@UtilityClass
+public class MetricsMXBeans {
+
+    /** The JMX domain of the registered beans. */
+    public static final String DOMAIN = "com.github.zhgzhg.tinydi";
+
+    /**
+     * Registers a bean exposing the metrics of a TinyDI context in the platform MBean server. The bean references the context, so it
+     * must be unregistered when the context is no longer used.
+     * @param tinyDI The context whose metrics to expose.
+     * @param contextName The name distinguishing the context from others in the same JVM.
+     * @return The name the bean is registered with - <i>com.github.zhgzhg.tinydi:type=ComponentMetrics,context=contextName</i>.
+     * @throws javax.management.InstanceAlreadyExistsException If a bean for the same context name is already registered.
+     */
+    @SneakyThrows
+    public static ObjectName register(@NonNull TinyDI tinyDI, @NonNull String contextName) {
+        ObjectName name = new ObjectName(DOMAIN + ":type=ComponentMetrics,context=" + ObjectName.quote(contextName));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new View(tinyDI), name);
+        return name;
+    }
+
+    /**
+     * Unregisters a bean previously registered via {@link #register}. Does nothing if there's no such bean.
+     * @param name The name returned by {@link #register}.
+     */
+    @SneakyThrows
+    public static void unregister(@NonNull ObjectName name) {
+        if (ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+
+    private static final class View implements ComponentMetricsMXBean {
+        private final TinyDI tinyDI;
+
+        private View(TinyDI tinyDI) {
+            this.tinyDI = tinyDI;
+        }
+
+        private Map<String, Long> collect(ToLongFunction<ComponentMetrics> counter) {
+            Map<String, Long> result = new TreeMap<>();
+            for (ComponentMetrics metrics : this.tinyDI.metrics()) {
+                result.put(metrics.getComponentName(), counter.applyAsLong(metrics));
+            }
+            return result;
+        }
+
+        @Override
+        public Map<String, Long> getLookupsByName() {
+            return this.collect(ComponentMetrics::getLookupsByName);
+        }
+
+        @Override
+        public Map<String, Long> getLookupsByType() {
+            return this.collect(ComponentMetrics::getLookupsByType);
+        }
+
+        @Override
+        public Map<String, Long> getPrototypeCreations() {
+            return this.collect(ComponentMetrics::getPrototypeCreations);
+        }
+
+        @Override
+        public Map<String, Long> getInstanceCreations() {
+            return this.collect(ComponentMetrics::getInstanceCreations);
+        }
+
+        @Override
+        public long getTotalLookups() {
+            return this.tinyDI.metrics().stream().mapToLong(metrics -> metrics.getLookupsByName() + metrics.getLookupsByType()).sum();
+        }
+
+        @Override
+        public long getTotalPrototypeCreations() {
+            return this.tinyDI.metrics().stream().mapToLong(ComponentMetrics::getPrototypeCreations).sum();
+        }
+
+        @Override
+        public long getTotalInstanceCreations() {
+            return this.tinyDI.metrics().stream().mapToLong(ComponentMetrics::getInstanceCreations).sum();
+        }
+    }
+}
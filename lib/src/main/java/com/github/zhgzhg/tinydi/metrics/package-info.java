@@ -0,0 +1,2 @@
+/** Runtime metrics of the DI-ed components and their JMX exposure. */
+package com.github.zhgzhg.tinydi.metrics;
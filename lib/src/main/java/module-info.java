@@ -5,9 +5,16 @@ open module com.github.zhgzhg.tinydi.tinydi {
     exports com.github.zhgzhg.tinydi.dynamic;
     exports com.github.zhgzhg.tinydi.meta;
     exports com.github.zhgzhg.tinydi.meta.annotations;
+    exports com.github.zhgzhg.tinydi.meta.descriptors;
     exports com.github.zhgzhg.tinydi.meta.enums;
+    exports com.github.zhgzhg.tinydi.metrics;
 
     requires java.base;
+    requires java.logging;
     requires static lombok;
+    requires static jdk.jfr;
+    requires static java.management;
     requires io.github.classgraph;
+
+    uses com.github.zhgzhg.tinydi.build.ComponentIndex;
 }
\ No newline at end of file
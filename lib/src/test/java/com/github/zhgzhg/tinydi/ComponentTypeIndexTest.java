@@ -0,0 +1,104 @@
+package com.github.zhgzhg.tinydi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComponentTypeIndexTest {
+
+    interface Animal { }
+
+    interface Pet extends Animal { }
+
+    abstract static class Mammal implements Animal { }
+
+    static class Dog extends Mammal implements Pet { }
+
+    static class Puppy extends Dog { }
+
+    static class Cat extends Mammal implements Pet { }
+
+    @Test
+    void concreteClassesShouldBeMatchedExactlyAndTheRestByAssignability() {
+        ComponentTypeIndex index = new ComponentTypeIndex();
+        index.add("puppy", Puppy.class);
+
+        assertEquals(List.of("puppy"), index.exactly(Puppy.class));
+        assertTrue(index.exactly(Dog.class).isEmpty());
+        assertEquals(List.of("puppy"), index.assignableTo(Dog.class));
+        assertEquals(List.of("puppy"), index.assignableTo(Animal.class));
+        assertEquals(List.of("puppy"), index.assignableTo(Object.class));
+
+        assertEquals("puppy", index.componentName(Puppy.class));
+        assertNull(index.componentName(Dog.class));
+        assertEquals("puppy", index.componentName(Pet.class));
+        assertEquals("puppy", index.componentName(Mammal.class));
+
+        assertEquals("puppy", index.registeredName(Dog.class));
+        assertNull(index.registeredName(Cat.class));
+    }
+
+    @Test
+    void exactMatchesShouldTakePrecedenceOverAssignableOnes() {
+        ComponentTypeIndex index = new ComponentTypeIndex();
+        index.add("puppy", Puppy.class);
+        index.add("dog", Dog.class);
+
+        assertEquals(List.of("puppy", "dog"), index.assignableTo(Dog.class));
+        assertEquals("dog", index.registeredName(Dog.class));
+        assertEquals("dog", index.componentName(Dog.class));
+        assertEquals("puppy", index.componentName(Pet.class));
+    }
+
+    @Test
+    void cachedLookupsShouldBeInvalidatedByNewRegistrations() {
+        ComponentTypeIndex index = new ComponentTypeIndex();
+        index.add("cat", Cat.class);
+
+        assertNull(index.componentName(Dog.class));
+        assertNull(index.registeredName(Dog.class));
+        assertEquals("cat", index.componentName(Pet.class));
+
+        index.add("dog", Dog.class);
+
+        assertEquals("dog", index.componentName(Dog.class));
+        assertEquals("dog", index.registeredName(Dog.class));
+        assertEquals("cat", index.componentName(Pet.class));
+    }
+
+    @Test
+    void assignableComponentsShouldBeKeptInRegistrationOrder() {
+        ComponentTypeIndex index = new ComponentTypeIndex();
+        index.add("cat", Cat.class);
+        index.add("dog", Dog.class);
+        index.add("puppy", Puppy.class);
+        index.add("dog", Dog.class);
+
+        assertEquals(List.of("cat", "dog", "puppy"), index.assignableTo(Pet.class));
+        assertEquals(List.of("cat", "dog", "puppy"), index.assignableTo(Mammal.class));
+        assertEquals(List.of("dog", "puppy"), index.assignableTo(Dog.class));
+        assertEquals(List.of("dog"), index.exactly(Dog.class));
+        assertEquals("cat", index.componentName(Animal.class));
+    }
+
+    @Test
+    void abstractRegistrationsShouldBeExcludedFromTheConcreteAssignableComponents() {
+        ComponentTypeIndex index = new ComponentTypeIndex();
+        index.add("animal", Animal.class);
+        index.add("mammal", Mammal.class);
+        index.add("dog", Dog.class);
+
+        assertEquals(List.of("animal", "mammal", "dog"), index.assignableTo(Animal.class));
+        assertEquals(List.of("dog"), index.concreteAssignableTo(Animal.class));
+        assertEquals(List.of("animal"), index.assignableTo(Object.class).subList(0, 1));
+
+        // refined by its created instance, it's ranked after the components which were concrete already
+        index.add("mammal", Dog.class);
+
+        assertEquals(List.of("dog", "mammal"), index.concreteAssignableTo(Animal.class));
+        assertEquals(List.of("dog", "mammal"), index.exactly(Dog.class));
+        assertEquals(List.of("animal", "mammal", "dog"), index.assignableTo(Animal.class));
+    }
+}
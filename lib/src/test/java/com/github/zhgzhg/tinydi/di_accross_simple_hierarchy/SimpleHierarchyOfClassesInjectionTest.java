@@ -5,6 +5,11 @@ import com.github.zhgzhg.tinydi.meta.annotations.Recorded;
 import com.github.zhgzhg.tinydi.meta.annotations.Registrar;
 import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -76,4 +81,60 @@ public class SimpleHierarchyOfClassesInjectionTest {
         assertNotNull(result);
         assertTrue(result.length() > 10);
     }
+
+    @Test
+    void leanStaticScanningShouldProduceSmallerResult() {
+        String lean = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .configureForStaticScan();
+
+        String full = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .leanScan(false)
+                .configureForStaticScan();
+
+        assertTrue(lean.length() < full.length());
+
+        TinyDI tinyDI = TinyDI.config()
+                .staticScan(lean)
+                .ignoredClasses(Component2.class.getCanonicalName())
+                .configure();
+
+        assertDoesNotThrow(() -> tinyDI.run());
+    }
+
+    @Test
+    void cachedScanningShouldSucceed(@TempDir Path tempDir) {
+        Path cacheFile = tempDir.resolve("tinydi-scan.cache");
+
+        for (int i = 0; i < 2; ++i) {
+            TinyDI tinyDI = TinyDI.config()
+                    .basePackages(this.getClass().getPackageName())
+                    .ignoredClasses(Component2.class.getCanonicalName())
+                    .scanCache(cacheFile)
+                    .configure();
+
+            assertDoesNotThrow(() -> tinyDI.run());
+            assertNotNull(tinyDI.componentFor(Component.class));
+            assertTrue(Files.isRegularFile(cacheFile));
+        }
+    }
+
+    @Test
+    void staticBinaryScanningShouldSucceed() {
+        byte[] result = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .configureForStaticBinaryScan();
+
+        assertNotNull(result);
+        assertTrue(result.length > 10);
+
+        TinyDI tinyDI = TinyDI.config()
+                .staticBinaryScan(new ByteArrayInputStream(result))
+                .ignoredClasses(Component2.class.getCanonicalName())
+                .configure();
+
+        assertDoesNotThrow(() -> tinyDI.run());
+        assertNotNull(tinyDI.componentFor(Component.class));
+    }
 }
@@ -0,0 +1,108 @@
+package com.github.zhgzhg.tinydi.di_ambiguity;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+import com.github.zhgzhg.tinydi.meta.annotations.Recorded;
+import com.github.zhgzhg.tinydi.meta.annotations.Registrar;
+import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AmbiguousParameterTest {
+
+    public interface Greeter {
+        String greet();
+    }
+
+    public static class EnglishGreeter implements Greeter {
+        @Override
+        public String greet() {
+            return "Hello";
+        }
+    }
+
+    public static class GermanGreeter implements Greeter {
+        @Override
+        public String greet() {
+            return "Hallo";
+        }
+    }
+
+    @Registrar
+    public static class Greeters {
+        @Recorded("english")
+        EnglishGreeter english() {
+            return new EnglishGreeter();
+        }
+
+        @Recorded("german")
+        GermanGreeter german() {
+            return new GermanGreeter();
+        }
+    }
+
+    @Supervised
+    public static class Reception {
+        final Greeter greeter;
+
+        public Reception(Greeter greeter) {
+            this.greeter = greeter;
+        }
+    }
+
+    private static TinyDI runContext() {
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(AmbiguousParameterTest.class.getPackageName())
+                .configure();
+        tinyDI.run();
+        return tinyDI;
+    }
+
+    @Test
+    void firstRegisteredCandidateShouldBeInjected() {
+        for (int i = 0; i < 3; ++i) {
+            TinyDI tinyDI = runContext();
+            assertSame(tinyDI.componentFor("english"), ((Reception) tinyDI.componentFor(Reception.class)).greeter);
+        }
+    }
+
+    @Test
+    void ambiguityShouldBeReported() {
+        List<LogRecord> records = new CopyOnWriteArrayList<>();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() { }
+
+            @Override
+            public void close() { }
+        };
+
+        Logger logger = Logger.getLogger(TinyDI.class.getName());
+        logger.addHandler(handler);
+        try {
+            runContext();
+        } finally {
+            logger.removeHandler(handler);
+        }
+
+        assertEquals(1, records.size());
+        assertEquals(Level.WARNING, records.get(0).getLevel());
+
+        String message = records.get(0).getMessage();
+        assertTrue(message.contains(Greeter.class.getName()));
+        assertTrue(message.contains(Reception.class.getName()));
+        assertTrue(message.contains("[english, german]"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.zhgzhg.tinydi.di_circular;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CircularDependencyTest {
+
+    @Supervised
+    public static class Chicken {
+        public Chicken(Egg egg) { }
+    }
+
+    @Supervised
+    public static class Egg {
+        public Egg(Chicken chicken) { }
+    }
+
+    @Supervised
+    public static class Farm {
+        public Farm(Barn barn) { }
+    }
+
+    @Supervised
+    public static class Barn {
+        public Barn() { }
+    }
+
+    @Test
+    void circularDependencyShouldBeReported() {
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .configure();
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, tinyDI::run);
+        assertTrue(ex.getMessage().startsWith("Circular dependency detected"));
+        assertTrue(ex.getMessage().contains(Chicken.class.getName()));
+        assertTrue(ex.getMessage().contains(Egg.class.getName()));
+    }
+
+    @Test
+    void dependenciesShouldBeInstantiatedFirstRegardlessOfScanOrder() {
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .ignoredClasses(Chicken.class.getCanonicalName(), Egg.class.getCanonicalName())
+                .configure();
+
+        assertDoesNotThrow(tinyDI::run);
+        assertTrue(tinyDI.componentFor(Farm.class) instanceof Farm);
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.zhgzhg.tinydi.di_collections;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+import com.github.zhgzhg.tinydi.meta.annotations.Recorded;
+import com.github.zhgzhg.tinydi.meta.annotations.Registrar;
+import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CollectionInjectionTest {
+
+    public interface Handler { }
+
+    @Supervised
+    public static class Dispatcher {
+        final List<Handler> handlerList;
+        final Set<? extends Handler> handlerSet;
+        final Map<String, Handler> handlerMap;
+
+        public Dispatcher(List<Handler> handlerList, Set<? extends Handler> handlerSet, Map<String, Handler> handlerMap) {
+            this.handlerList = handlerList;
+            this.handlerSet = handlerSet;
+            this.handlerMap = handlerMap;
+        }
+    }
+
+    @Supervised
+    public static class JsonHandler implements Handler {
+        public JsonHandler() { }
+    }
+
+    @Supervised("xml")
+    public static class XmlHandler implements Handler {
+        public XmlHandler() { }
+    }
+
+    @Registrar
+    public static class Labels {
+        @Recorded
+        List<String> labels() {
+            return new ArrayList<>(List.of("first", "second"));
+        }
+    }
+
+    @Supervised
+    public static class Printer {
+        final List<String> labels;
+
+        public Printer(List<String> labels) {
+            this.labels = labels;
+        }
+    }
+
+    @Test
+    void allImplementationsShouldBeInjected() {
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .configure();
+
+        assertDoesNotThrow(tinyDI::run);
+
+        Dispatcher dispatcher = (Dispatcher) tinyDI.componentFor(Dispatcher.class);
+        Object json = tinyDI.componentFor(JsonHandler.class);
+        Object xml = tinyDI.componentFor(XmlHandler.class);
+
+        assertEquals(2, dispatcher.handlerList.size());
+        assertTrue(dispatcher.handlerList.contains(json));
+        assertTrue(dispatcher.handlerList.contains(xml));
+        assertThrows(UnsupportedOperationException.class, () -> dispatcher.handlerList.add(null));
+
+        assertEquals(2, dispatcher.handlerSet.size());
+        assertTrue(dispatcher.handlerSet.contains(json));
+
+        assertEquals(2, dispatcher.handlerMap.size());
+        assertSame(json, dispatcher.handlerMap.get("JsonHandler"));
+        assertSame(xml, dispatcher.handlerMap.get("xml"));
+    }
+
+    @Test
+    void unrelatedCollectionComponentShouldNotReplaceTheMatchingComponents() {
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .configure();
+
+        assertDoesNotThrow(tinyDI::run);
+
+        Dispatcher dispatcher = (Dispatcher) tinyDI.componentFor(Dispatcher.class);
+        assertNotSame(tinyDI.componentFor("labels"), dispatcher.handlerList);
+        assertEquals(2, dispatcher.handlerList.size());
+        assertTrue(dispatcher.handlerList.stream().allMatch(handler -> handler instanceof Handler));
+
+        Printer printer = (Printer) tinyDI.componentFor(Printer.class);
+        assertSame(tinyDI.componentFor("labels"), printer.labels);
+    }
+}
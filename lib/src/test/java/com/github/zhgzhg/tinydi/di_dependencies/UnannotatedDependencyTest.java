@@ -0,0 +1,64 @@
+package com.github.zhgzhg.tinydi.di_dependencies;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UnannotatedDependencyTest {
+
+    public static class Clock {
+        public Clock() { }
+    }
+
+    public static class Repository {
+        final Clock clock;
+        final Settings settings;
+
+        public Repository(Clock clock, Settings settings) {
+            this.clock = clock;
+            this.settings = settings;
+        }
+    }
+
+    @Supervised
+    public static class Settings {
+        public Settings() { }
+    }
+
+    @Supervised
+    public static class Service {
+        final Repository repository;
+
+        public Service(Repository repository) {
+            this.repository = repository;
+        }
+    }
+
+    @Supervised
+    public static class Auditor {
+        final Repository repository;
+
+        public Auditor(Repository repository) {
+            this.repository = repository;
+        }
+    }
+
+    @Test
+    void unannotatedClassesFromTheScanShouldBeInstantiatedOnDemand() {
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .configure();
+        tinyDI.run();
+
+        Service service = (Service) tinyDI.componentFor(Service.class);
+        assertNotNull(service.repository);
+        assertNotNull(service.repository.clock);
+        assertSame(tinyDI.componentFor(Settings.class), service.repository.settings);
+
+        assertSame(service.repository, ((Auditor) tinyDI.componentFor(Auditor.class)).repository);
+        assertSame(service.repository, tinyDI.componentFor("Repository"));
+        assertSame(service.repository.clock, tinyDI.componentFor(Clock.class));
+    }
+}
@@ -0,0 +1,156 @@
+package com.github.zhgzhg.tinydi.di_footprint;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+import com.github.zhgzhg.tinydi.components.EntryPoint;
+import com.github.zhgzhg.tinydi.meta.annotations.Recorded;
+import com.github.zhgzhg.tinydi.meta.annotations.Registrar;
+import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that no ClassGraph objects, nor the static JSON scan, remain reachable from an initialized TinyDI context, by walking its
+ * object graph. The JDK objects are traversed only through the public API of the collections and the atomic references.
+ */
+public class ContextFootprintTest {
+
+    private static final String CLASSGRAPH_PACKAGE = "io.github.classgraph.";
+
+    @Registrar
+    public static class Settings {
+        @Recorded("greeting")
+        String greeting() {
+            return "hello";
+        }
+
+        @Recorded(value = "counter", scope = ScopeDI.PROTOTYPE)
+        StringBuilder counter() {
+            return new StringBuilder();
+        }
+    }
+
+    @Supervised
+    public static class Main implements EntryPoint {
+        private final String greeting;
+
+        public Main(String greeting) {
+            this.greeting = greeting;
+        }
+
+        @Override
+        public void run() {
+            assertEquals("hello", this.greeting);
+        }
+    }
+
+    private static boolean isJdkClass(Class<?> clazz) {
+        String name = clazz.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.");
+    }
+
+    private static Set<Object> reachableFrom(Object root) throws IllegalAccessException {
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object> pending = new LinkedList<>();
+        pending.push(root);
+
+        while (!pending.isEmpty()) {
+            Object current = pending.pop();
+            if (current == null || current instanceof Class || !visited.add(current)) {
+                continue;
+            }
+
+            Class<?> clazz = current.getClass();
+
+            if (clazz.isArray()) {
+                if (!clazz.getComponentType().isPrimitive()) {
+                    for (int i = 0; i < Array.getLength(current); ++i) {
+                        pending.push(Array.get(current, i));
+                    }
+                }
+            } else if (current instanceof Map) {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) current).entrySet()) {
+                    pending.push(entry.getKey());
+                    pending.push(entry.getValue());
+                }
+            } else if (current instanceof Collection) {
+                ((Collection<?>) current).forEach(pending::push);
+            } else if (current instanceof AtomicReference) {
+                pending.push(((AtomicReference<?>) current).get());
+            } else if (current instanceof AtomicReferenceArray) {
+                AtomicReferenceArray<?> array = (AtomicReferenceArray<?>) current;
+                for (int i = 0; i < array.length(); ++i) {
+                    pending.push(array.get(i));
+                }
+            } else {
+                for (Class<?> c = clazz; c != null && !isJdkClass(c); c = c.getSuperclass()) {
+                    for (Field field : c.getDeclaredFields()) {
+                        if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+                            field.setAccessible(true);
+                            pending.push(field.get(current));
+                        }
+                    }
+                }
+            }
+        }
+
+        return visited;
+    }
+
+    private static void assertNoClassGraphObjects(Set<Object> reachable) {
+        for (Object object : reachable) {
+            assertFalse(object.getClass().getName().startsWith(CLASSGRAPH_PACKAGE),
+                    "ClassGraph object is reachable from the context: " + object.getClass().getName());
+        }
+    }
+
+    @Test
+    void runtimeScanShouldLeaveNoClassGraphObjectsReachable() throws Exception {
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .configure();
+        tinyDI.run();
+
+        assertNotNull(tinyDI.componentFor("counter"));
+
+        Set<Object> reachable = reachableFrom(tinyDI);
+        assertTrue(reachable.contains(tinyDI.componentFor(Main.class)));
+        assertNoClassGraphObjects(reachable);
+    }
+
+    @Test
+    void staticScanShouldBeReleasedAfterTheStartup() throws Exception {
+        String json = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .configureForStaticScan();
+
+        TinyDI tinyDI = TinyDI.config()
+                .staticScan(json)
+                .configure();
+        tinyDI.run();
+
+        assertNotNull(tinyDI.componentFor(Main.class));
+
+        Set<Object> reachable = reachableFrom(tinyDI);
+        assertNoClassGraphObjects(reachable);
+        for (Object object : reachable) {
+            if (object instanceof String) {
+                assertNotEquals(json, object);
+            }
+        }
+    }
+}
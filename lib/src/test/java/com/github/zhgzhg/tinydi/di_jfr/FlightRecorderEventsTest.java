@@ -0,0 +1,137 @@
+package com.github.zhgzhg.tinydi.di_jfr;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+import com.github.zhgzhg.tinydi.dynamic.RecordedAnnotation;
+import com.github.zhgzhg.tinydi.dynamic.TinyDynamicDI;
+import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightRecorderEventsTest {
+
+    @Supervised
+    public static class Service {
+        public Service() { }
+    }
+
+    @Supervised(scope = ScopeDI.PROTOTYPE)
+    public static class Request {
+        public Request() { }
+    }
+
+    public static class Task implements Runnable {
+        private final AtomicInteger runs;
+
+        public Task(AtomicInteger runs) {
+            this.runs = runs;
+        }
+
+        @Override
+        public void run() {
+            this.runs.incrementAndGet();
+        }
+    }
+
+    public static class FailingTask implements Runnable {
+        @Override
+        public void run() {
+            throw new IllegalStateException("failed");
+        }
+    }
+
+    private static List<RecordedEvent> eventsOf(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> name.equals(event.getEventType().getName())).collect(Collectors.toList());
+    }
+
+    @Test
+    void diActivityShouldBeVisibleInFlightRecordings() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        Task task = new Task(runs);
+
+        // the proxies created before the recording emit the events too
+        Runnable proxy = TinyDynamicDI.attachRecordedAnnotation(() -> task, Task.class,
+                new RecordedAnnotation("task", ScopeDI.SINGLETON));
+        Runnable failingProxy = TinyDynamicDI.attachRecordedAnnotation(FailingTask::new, FailingTask.class,
+                new RecordedAnnotation("failingTask", ScopeDI.SINGLETON));
+        assertEquals(Runtime.version().feature() < 15, Proxy.isProxyClass(proxy.getClass()));
+
+        Path dump = Files.createTempFile("tinydi", ".jfr");
+        List<RecordedEvent> events;
+
+        try (Recording recording = new Recording()) {
+            recording.enable("com.github.zhgzhg.tinydi.ComponentCreation");
+            recording.enable("com.github.zhgzhg.tinydi.PrototypeCreation");
+            recording.enable("com.github.zhgzhg.tinydi.ProxyInvocation").withoutThreshold();
+            recording.start();
+
+            TinyDI tinyDI = TinyDI.config()
+                    .basePackages(this.getClass().getPackageName())
+                    .configure();
+            tinyDI.run();
+
+            tinyDI.componentFor(Request.class);
+            tinyDI.componentFor(Request.class);
+            proxy.run();
+            assertThrows(IllegalStateException.class, failingProxy::run);
+
+            recording.stop();
+            recording.dump(dump);
+            events = RecordingFile.readAllEvents(dump);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+
+        assertEquals(1, runs.get());
+
+        List<RecordedEvent> creations = eventsOf(events, "com.github.zhgzhg.tinydi.ComponentCreation");
+        assertTrue(creations.stream().anyMatch(event -> "Service".equals(event.getString("componentName"))
+                && Service.class.getName().equals(event.getString("origin")) && "SINGLETON".equals(event.getString("scope"))));
+
+        List<RecordedEvent> prototypes = eventsOf(events, "com.github.zhgzhg.tinydi.PrototypeCreation");
+        assertEquals(2, prototypes.stream()
+                .filter(event -> Request.class.getName().equals(event.getClass("componentClass").getName()))
+                .count());
+
+        List<RecordedEvent> invocations = eventsOf(events, "com.github.zhgzhg.tinydi.ProxyInvocation");
+        assertEquals(2, invocations.size());
+        assertEquals(Task.class.getName(), invocations.get(0).getClass("instanceClass").getName());
+        assertEquals(FailingTask.class.getName(), invocations.get(1).getClass("instanceClass").getName());
+        assertTrue(invocations.stream().allMatch(event -> "run".equals(event.getString("method"))));
+    }
+
+    @Test
+    void proxyInvocationsShouldNotBeRecordedByDefault() throws Exception {
+        Runnable proxy = TinyDynamicDI.attachRecordedAnnotation(() -> new Task(new AtomicInteger()), Task.class,
+                new RecordedAnnotation("task", ScopeDI.SINGLETON));
+
+        Path dump = Files.createTempFile("tinydi", ".jfr");
+        List<RecordedEvent> events;
+
+        try (Recording recording = new Recording()) {
+            recording.enable("com.github.zhgzhg.tinydi.ComponentCreation");
+            recording.start();
+
+            proxy.run();
+
+            recording.stop();
+            recording.dump(dump);
+            events = RecordingFile.readAllEvents(dump);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+
+        assertTrue(eventsOf(events, "com.github.zhgzhg.tinydi.ProxyInvocation").isEmpty());
+    }
+}
@@ -0,0 +1,170 @@
+package com.github.zhgzhg.tinydi.di_lazy;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+import com.github.zhgzhg.tinydi.meta.annotations.Recorded;
+import com.github.zhgzhg.tinydi.meta.annotations.Registrar;
+import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazySingletonTest {
+
+    static final AtomicInteger reportGenerators = new AtomicInteger();
+    static final AtomicInteger adminTools = new AtomicInteger();
+    static final AtomicInteger auditLogs = new AtomicInteger();
+
+    @Supervised(scope = ScopeDI.LAZY_SINGLETON)
+    public static class ReportGenerator {
+        public ReportGenerator() {
+            reportGenerators.incrementAndGet();
+        }
+    }
+
+    @Supervised(scope = ScopeDI.LAZY_SINGLETON)
+    public static class AuditLog {
+        public AuditLog() {
+            auditLogs.incrementAndGet();
+        }
+    }
+
+    @Supervised
+    public static class Service {
+        final AuditLog auditLog;
+
+        public Service(AuditLog auditLog) {
+            this.auditLog = auditLog;
+        }
+    }
+
+    public interface Formatter {
+        String format(String text);
+    }
+
+    public static class PlainFormatter implements Formatter {
+        @Override
+        public String format(String text) {
+            return text;
+        }
+    }
+
+    @Supervised(scope = ScopeDI.LAZY_SINGLETON)
+    public static class Printer {
+        final Formatter formatter;
+
+        public Printer(Formatter formatter) {
+            this.formatter = formatter;
+        }
+    }
+
+    @Registrar
+    public static class Tools {
+        @Recorded(value = "adminTool", scope = ScopeDI.LAZY_SINGLETON)
+        StringBuilder adminTool() {
+            adminTools.incrementAndGet();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new StringBuilder("admin");
+        }
+
+        @Recorded(value = "formatter", scope = ScopeDI.LAZY_SINGLETON)
+        Formatter formatter() {
+            return new PlainFormatter();
+        }
+    }
+
+    private TinyDI newContext() {
+        reportGenerators.set(0);
+        adminTools.set(0);
+        auditLogs.set(0);
+
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .configure();
+        tinyDI.run();
+        return tinyDI;
+    }
+
+    @Test
+    void lazySingletonsAreCreatedOnFirstUse() {
+        TinyDI tinyDI = newContext();
+
+        assertEquals(0, reportGenerators.get());
+        assertEquals(0, adminTools.get());
+        assertEquals(1, auditLogs.get());
+
+        assertEquals(ReportGenerator.class, tinyDI.registeredComponentClass("ReportGenerator"));
+        assertEquals(StringBuilder.class, tinyDI.registeredComponentClass("adminTool"));
+
+        Object reportGenerator = tinyDI.componentFor(ReportGenerator.class);
+        assertNotNull(reportGenerator);
+        assertSame(reportGenerator, tinyDI.componentFor("ReportGenerator"));
+        assertEquals(1, reportGenerators.get());
+
+        Service service = (Service) tinyDI.componentFor(Service.class);
+        assertSame(service.auditLog, tinyDI.componentFor(AuditLog.class));
+        assertEquals(1, auditLogs.get());
+
+        assertEquals(ScopeDI.LAZY_SINGLETON, tinyDI.instantiationStrategy(ReportGenerator.class));
+    }
+
+    @Test
+    void lazySingletonsDeclaredByInterfaceAreIndexedByTheirRuntimeClassOnceCreated() {
+        TinyDI tinyDI = newContext();
+
+        assertEquals(Formatter.class, tinyDI.registeredComponentClass("formatter"));
+        // not created yet, so only its declared type is known
+        assertNull(tinyDI.componentFor(PlainFormatter.class));
+
+        Object formatter = tinyDI.componentFor("formatter");
+        assertTrue(formatter instanceof PlainFormatter);
+
+        assertEquals(PlainFormatter.class, tinyDI.registeredComponentClass("formatter"));
+        assertEquals("formatter", tinyDI.registeredComponentName(PlainFormatter.class));
+        assertSame(formatter, tinyDI.componentFor(PlainFormatter.class));
+        assertSame(formatter, tinyDI.componentFor(Formatter.class));
+
+        Printer printer = (Printer) tinyDI.componentFor(Printer.class);
+        assertSame(formatter, printer.formatter);
+    }
+
+    @Test
+    void concurrentFirstRequestsCreateOneInstance() throws Exception {
+        TinyDI tinyDI = newContext();
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < threads; ++i) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return tinyDI.componentFor("adminTool");
+                }));
+            }
+            start.countDown();
+
+            Object first = results.get(0).get();
+            assertNotNull(first);
+            for (Future<Object> result : results) {
+                assertSame(first, result.get());
+            }
+            assertEquals(1, adminTools.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.github.zhgzhg.tinydi.di_metrics;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+import com.github.zhgzhg.tinydi.metrics.ComponentMetrics;
+import com.github.zhgzhg.tinydi.metrics.MetricsMXBeans;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComponentMetricsTest {
+
+    @Supervised
+    public static class Service {
+        public Service() { }
+    }
+
+    @Supervised(scope = ScopeDI.PROTOTYPE)
+    public static class Request {
+        public Request(Service service) { }
+    }
+
+    @Supervised
+    public static class Consumer {
+        public Consumer(Request request) { }
+    }
+
+    @Supervised(scope = ScopeDI.LAZY_SINGLETON)
+    public static class Cache {
+        public Cache() { }
+    }
+
+    @Supervised(scope = ScopeDI.THREAD)
+    public static class Session {
+        public Session() { }
+    }
+
+    @Supervised(scope = ScopeDI.POOLED)
+    public static class Buffer {
+        public Buffer() { }
+    }
+
+    private static ComponentMetrics metricsOf(TinyDI tinyDI, String componentName) {
+        return tinyDI.metrics().stream()
+                .filter(metrics -> componentName.equals(metrics.getComponentName()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void metricsShouldBeCollectedOnlyWhenEnabled() {
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .configure();
+        tinyDI.run();
+
+        assertNotNull(tinyDI.componentFor(Service.class));
+        assertTrue(tinyDI.metrics().isEmpty());
+    }
+
+    @Test
+    void lookupsAndPrototypeCreationsShouldBeCounted() {
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .metrics(true)
+                .configure();
+        tinyDI.run();
+
+        long injectedRequests = metricsOf(tinyDI, "Request").getPrototypeCreations();
+
+        tinyDI.componentFor("Service");
+        tinyDI.componentFor(Service.class);
+        tinyDI.componentFor(Service.class);
+        tinyDI.componentFor("Request");
+        tinyDI.ref(Request.class).get();
+
+        ComponentMetrics service = metricsOf(tinyDI, "Service");
+        assertEquals(1, service.getLookupsByName());
+        assertEquals(2, service.getLookupsByType());
+        assertEquals(0, service.getPrototypeCreations());
+
+        ComponentMetrics request = metricsOf(tinyDI, "Request");
+        assertEquals(1, request.getLookupsByName());
+        assertEquals(0, request.getLookupsByType());
+        assertEquals(injectedRequests + 2, request.getPrototypeCreations());
+    }
+
+    @Test
+    void instanceCreationsShouldBeCountedInEveryScope() throws InterruptedException {
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .metrics(true)
+                .configure();
+        tinyDI.run();
+
+        long requests = metricsOf(tinyDI, "Request").getInstanceCreations();
+        long sessions = metricsOf(tinyDI, "Session").getInstanceCreations();
+        long buffers = metricsOf(tinyDI, "Buffer").getInstanceCreations();
+        assertEquals(0, metricsOf(tinyDI, "Cache").getInstanceCreations());
+
+        tinyDI.componentFor(Request.class);
+        tinyDI.componentFor(Cache.class);
+        tinyDI.componentFor(Cache.class);
+
+        Thread thread = new Thread(() -> {
+            tinyDI.componentFor(Session.class);
+            tinyDI.componentFor(Session.class);
+        });
+        thread.start();
+        thread.join();
+
+        Object buffer = tinyDI.componentFor(Buffer.class);
+        assertTrue(tinyDI.release(buffer));
+        assertSame(buffer, tinyDI.componentFor(Buffer.class));
+        tinyDI.componentFor(Buffer.class);
+
+        assertEquals(requests + 1, metricsOf(tinyDI, "Request").getInstanceCreations());
+        assertEquals(1, metricsOf(tinyDI, "Cache").getInstanceCreations());
+        assertEquals(sessions + 1, metricsOf(tinyDI, "Session").getInstanceCreations());
+        assertEquals(buffers + 2, metricsOf(tinyDI, "Buffer").getInstanceCreations());
+        assertEquals(0, metricsOf(tinyDI, "Cache").getPrototypeCreations());
+        assertEquals(0, metricsOf(tinyDI, "Service").getInstanceCreations());
+    }
+
+    @Test
+    void metricsShouldBeExposedViaJmx() throws Exception {
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .metrics(true)
+                .configure();
+        tinyDI.run();
+
+        tinyDI.componentFor("Service");
+        tinyDI.componentFor(Service.class);
+
+        ObjectName name = MetricsMXBeans.register(tinyDI, "metrics-test");
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(MetricsMXBeans.DOMAIN, name.getDomain());
+            assertEquals(2L, server.getAttribute(name, "TotalLookups"));
+            assertNotNull(server.getAttribute(name, "LookupsByName"));
+            assertNotNull(server.getAttribute(name, "InstanceCreations"));
+        } finally {
+            MetricsMXBeans.unregister(name);
+        }
+
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+}
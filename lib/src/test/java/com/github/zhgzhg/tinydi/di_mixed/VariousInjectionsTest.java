@@ -9,6 +9,8 @@ import com.github.zhgzhg.tinydi.di_mixed.sample_components.RichRegistrar;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
 class VariousInjectionsTest {
@@ -32,4 +34,28 @@ class VariousInjectionsTest {
         Assertions.assertDoesNotThrow(() -> tinyDI.run());
         Assertions.assertNull(tinyDI.componentFor("nullValuesAreNotRegisteredAndNotErroredImmediately"));
     }
+
+    @Test
+    void parallelInstantiationTest() {
+        Recorded separateInstProxy = TinyDynamicDI.attachRecordedAnnotation(
+                () -> new RichRegistrar.A(555),
+                RichRegistrar.A.class,
+                new RecordedAnnotation("someName", ScopeDI.PROTOTYPE)
+        );
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            TinyDI tinyDI = TinyDI.config()
+                    .records(separateInstProxy)
+                    .basePackages(RichRegistrar.class.getPackageName())
+                    .parallelInstantiation(executor)
+                    .configure();
+
+            Assertions.assertDoesNotThrow(() -> tinyDI.run());
+            Assertions.assertNotNull(tinyDI.componentFor(RichRegistrar.C.class));
+            Assertions.assertSame(tinyDI.componentFor("B"), tinyDI.componentFor("B"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
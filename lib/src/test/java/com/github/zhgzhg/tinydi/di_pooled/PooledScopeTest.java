@@ -0,0 +1,77 @@
+package com.github.zhgzhg.tinydi.di_pooled;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+import com.github.zhgzhg.tinydi.components.Resettable;
+import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PooledScopeTest {
+
+    @Supervised(scope = ScopeDI.POOLED)
+    public static class Buffer implements Resettable {
+        final StringBuilder content = new StringBuilder();
+        int resets;
+
+        public Buffer() { }
+
+        @Override
+        public void reset() {
+            this.content.setLength(0);
+            ++this.resets;
+        }
+    }
+
+    @Test
+    void releasedInstancesAreResetAndReused() {
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .poolCapacity(1)
+                .configure();
+        tinyDI.run();
+
+        Buffer first = (Buffer) tinyDI.componentFor(Buffer.class);
+        Buffer second = (Buffer) tinyDI.componentFor(Buffer.class);
+        assertNotNull(first);
+        assertNotSame(first, second);
+
+        first.content.append("data");
+        assertTrue(tinyDI.release(first));
+        assertEquals(1, first.resets);
+        assertEquals(0, first.content.length());
+
+        assertFalse(tinyDI.release(second));
+        assertEquals(0, second.resets);
+        assertFalse(tinyDI.release(new Object()));
+
+        assertSame(first, tinyDI.componentFor(Buffer.class));
+        assertNotSame(first, tinyDI.componentFor(Buffer.class));
+    }
+
+    @Test
+    void instancesCanBeReleasedOnlyOnceAndOnlyToTheirOwnPool() {
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .poolCapacity(4)
+                .configure();
+        tinyDI.run();
+
+        Buffer buffer = (Buffer) tinyDI.componentFor(Buffer.class);
+        assertFalse(tinyDI.release("Buffer", new StringBuilder()));
+
+        assertTrue(tinyDI.release("Buffer", buffer));
+        assertFalse(tinyDI.release("Buffer", buffer));
+        assertFalse(tinyDI.release(buffer));
+        assertEquals(1, buffer.resets);
+
+        assertSame(buffer, tinyDI.componentFor(Buffer.class));
+        assertNotSame(buffer, tinyDI.componentFor(Buffer.class));
+    }
+
+    @Test
+    void poolCapacityMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> TinyDI.config().poolCapacity(0));
+    }
+}
@@ -0,0 +1,145 @@
+package com.github.zhgzhg.tinydi.di_precompiled;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+import com.github.zhgzhg.tinydi.build.ComponentIndex;
+import com.github.zhgzhg.tinydi.meta.annotations.KnownAs;
+import com.github.zhgzhg.tinydi.meta.annotations.Recorded;
+import com.github.zhgzhg.tinydi.meta.annotations.Registrar;
+import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
+import com.github.zhgzhg.tinydi.meta.descriptors.ComponentDescriptor;
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrecompiledIndexTest {
+
+    @Registrar
+    public static class Settings {
+        @Recorded
+        String greeting() { return "hello"; }
+
+        @Recorded("answer")
+        int answer() { return 42; }
+    }
+
+    @Supervised
+    public static class Greeter {
+        final String text;
+
+        Greeter(String greeting, @KnownAs("answer") int number) {
+            this.text = greeting + " " + number;
+        }
+    }
+
+    @Supervised(scope = ScopeDI.PROTOTYPE)
+    public static class Visitor {
+        final Greeter greeter;
+
+        public Visitor(Greeter greeter) {
+            this.greeter = greeter;
+        }
+    }
+
+    public static class Clock {
+        public Clock() { }
+    }
+
+    @Supervised
+    public static class Timer {
+        final Clock clock;
+
+        public Timer(Clock clock) {
+            this.clock = clock;
+        }
+    }
+
+    @Test
+    void generatedIndexShouldDescribeTheComponents() {
+        List<ComponentDescriptor> components = new TinyDIComponentIndex().components();
+
+        assertEquals(5, components.size());
+        assertEquals(Settings.class.getName(), components.get(0).getClassName());
+        assertEquals(ComponentDescriptor.Kind.REGISTRAR, components.get(0).getKind());
+        assertEquals(2, components.get(0).getRecords().size());
+        assertEquals(Clock.class.getName(), components.get(4).getClassName());
+        assertEquals(ComponentDescriptor.Kind.DEPENDENCY, components.get(4).getKind());
+
+        for (ComponentDescriptor component : components) {
+            assertNotNull(component.getConstructor().getFactory());
+        }
+    }
+
+    @Test
+    void precompiledIndexShouldReplaceTheClasspathScan() {
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .precompiledIndex()
+                .configure();
+
+        assertDoesNotThrow(tinyDI::run);
+
+        Greeter greeter = (Greeter) tinyDI.componentFor(Greeter.class);
+        assertEquals("hello 42", greeter.text);
+
+        Visitor visitor = (Visitor) tinyDI.componentFor(Visitor.class);
+        assertNotSame(visitor, tinyDI.componentFor(Visitor.class));
+        assertEquals(greeter, visitor.greeter);
+    }
+
+    @Test
+    void unannotatedDependenciesShouldBeInstantiatedOnDemandLikeWithClasspathScan() {
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .precompiledIndex()
+                .configure();
+        tinyDI.run();
+
+        Timer timer = (Timer) tinyDI.componentFor(Timer.class);
+        assertNotNull(timer.clock);
+        assertSame(timer.clock, tinyDI.componentFor(Clock.class));
+        assertSame(timer.clock, tinyDI.componentFor("Clock"));
+    }
+
+    @Test
+    void precompiledIndexesShouldBeDiscoveredWithTheClassLoaderConfiguredAfterwards() {
+        Set<String> requestedResources = ConcurrentHashMap.newKeySet();
+        ClassLoader classLoader = new ClassLoader(this.getClass().getClassLoader()) {
+            @Override
+            public Enumeration<URL> getResources(String name) throws IOException {
+                requestedResources.add(name);
+                return super.getResources(name);
+            }
+        };
+
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .precompiledIndex()
+                .classLoader(classLoader)
+                .configure();
+
+        assertTrue(requestedResources.contains("META-INF/services/" + ComponentIndex.class.getName()));
+
+        assertDoesNotThrow(tinyDI::run);
+        assertEquals("hello 42", ((Greeter) tinyDI.componentFor(Greeter.class)).text);
+    }
+
+    @Test
+    void precompiledIndexCannotBeCombinedWithStaticScan() {
+        assertThrows(IllegalStateException.class, () -> TinyDI.config().staticScan("{}").precompiledIndex());
+        assertThrows(IllegalStateException.class, () -> TinyDI.config().precompiledIndex(new TinyDIComponentIndex()).staticScan("{}"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.zhgzhg.tinydi.di_provider;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+import com.github.zhgzhg.tinydi.components.Provider;
+import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProviderInjectionTest {
+
+    @Supervised(scope = ScopeDI.PROTOTYPE)
+    public static class Operation {
+        public Operation() { }
+    }
+
+    @Supervised
+    public static class Dispatcher {
+        final Provider<Operation> operations;
+        final Supplier<? extends Registry> registry;
+
+        public Dispatcher(Provider<Operation> operations, Supplier<? extends Registry> registry) {
+            this.operations = operations;
+            this.registry = registry;
+        }
+    }
+
+    @Supervised
+    public static class Registry {
+        final Dispatcher dispatcher;
+
+        public Registry(Dispatcher dispatcher) {
+            this.dispatcher = dispatcher;
+        }
+    }
+
+    @Test
+    void providersResolveComponentsOnDemand() {
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .configure();
+
+        assertDoesNotThrow(tinyDI::run);
+
+        Dispatcher dispatcher = (Dispatcher) tinyDI.componentFor(Dispatcher.class);
+
+        Operation first = dispatcher.operations.get();
+        Operation second = dispatcher.operations.get();
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNotSame(first, second);
+
+        Registry registry = dispatcher.registry.get();
+        assertSame(tinyDI.componentFor(Registry.class), registry);
+        assertSame(dispatcher, registry.dispatcher);
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.zhgzhg.tinydi.di_ref;
+
+import com.github.zhgzhg.tinydi.ComponentRef;
+import com.github.zhgzhg.tinydi.TinyDI;
+import com.github.zhgzhg.tinydi.meta.annotations.Recorded;
+import com.github.zhgzhg.tinydi.meta.annotations.Registrar;
+import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComponentRefTest {
+
+    public interface Codec { }
+
+    @Supervised
+    public static class Service implements Codec {
+        public Service() { }
+    }
+
+    @Supervised(scope = ScopeDI.PROTOTYPE)
+    public static class Request {
+        public Request() { }
+    }
+
+    @Registrar
+    public static class Settings {
+        @Recorded("port")
+        int port() {
+            return 8080;
+        }
+    }
+
+    @Test
+    void refsShouldResolveAccordingToTheScope() {
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .configure();
+        tinyDI.run();
+
+        ComponentRef<Service> service = tinyDI.ref(Service.class);
+        assertNotNull(service);
+        assertEquals("Service", service.getComponentName());
+        assertSame(tinyDI.componentFor(Service.class), service.get());
+        assertSame(service.get(), service.get());
+
+        ComponentRef<Codec> codec = tinyDI.ref(Codec.class);
+        assertSame(service.get(), codec.get());
+
+        ComponentRef<Request> request = tinyDI.ref("Request", Request.class);
+        assertNotNull(request.get());
+        assertNotSame(request.get(), request.get());
+
+        assertEquals(Integer.valueOf(8080), tinyDI.ref("port", int.class).get());
+
+        assertNull(tinyDI.ref("missing", Object.class));
+        assertThrows(IllegalArgumentException.class, () -> tinyDI.ref("Request", Service.class));
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.zhgzhg.tinydi.di_scalability;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+import com.github.zhgzhg.tinydi.fixtures.SyntheticClasspath;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.Reference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the startup time and the retained heap grow about linearly with the size of the component graph, by comparing
+ * synthetic classpaths whose sizes differ {@link #GROWTH} times. Twice the linear growth is tolerated to absorb the measurement noise,
+ * while quadratic costs exceed it by far. Run via <i>./gradlew :tinydi:scalabilityTest</i>.
+ */
+@Tag("scalability")
+public class StartupScalabilityTest {
+
+    private static final int SMALL = 500;
+    private static final int GROWTH = 4;
+    private static final double TOLERANCE = 2.0;
+
+    private static final int RUNS = 3;
+
+    private static TinyDI startup(SyntheticClasspath classpath) {
+        TinyDI tinyDI = classpath.configure(TinyDI.config()).configure();
+        tinyDI.run();
+        return tinyDI;
+    }
+
+    private static long bestStartupNanos(SyntheticClasspath classpath) {
+        startup(classpath); // warm-up
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; ++i) {
+            long start = System.nanoTime();
+            startup(classpath);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; ++i) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long retainedHeap(SyntheticClasspath classpath) throws InterruptedException {
+        startup(classpath); // loads the classes, which shouldn't be attributed to the context
+
+        long before = usedHeap();
+        TinyDI tinyDI = startup(classpath);
+        long after = usedHeap();
+
+        Reference.reachabilityFence(tinyDI);
+        return Math.max(1, after - before);
+    }
+
+    private static SyntheticClasspath classpath(int components) {
+        return SyntheticClasspath.builder()
+                .components(components)
+                .depth(10)
+                .fanOut(3)
+                .interfaceRatio(0.25)
+                .prototypeRatio(0.1)
+                .componentsPerJar(25)
+                .build();
+    }
+
+    @Test
+    void startupTimeShouldGrowLinearly() throws Exception {
+        long small;
+        long large;
+
+        try (SyntheticClasspath classpath = classpath(SMALL)) {
+            small = bestStartupNanos(classpath);
+        }
+        try (SyntheticClasspath classpath = classpath(SMALL * GROWTH)) {
+            large = bestStartupNanos(classpath);
+        }
+
+        double ratio = (double) large / small;
+        assertTrue(ratio < GROWTH * TOLERANCE, "Startup time grew " + ratio + " times for " + GROWTH + " times more components");
+    }
+
+    @Test
+    void retainedHeapShouldGrowLinearly() throws Exception {
+        long small;
+        long large;
+
+        try (SyntheticClasspath classpath = classpath(SMALL)) {
+            small = retainedHeap(classpath);
+        }
+        try (SyntheticClasspath classpath = classpath(SMALL * GROWTH)) {
+            large = retainedHeap(classpath);
+        }
+
+        double ratio = (double) large / small;
+        assertTrue(ratio < GROWTH * TOLERANCE, "Retained heap grew " + ratio + " times for " + GROWTH + " times more components");
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.zhgzhg.tinydi.di_startup;
+
+import com.github.zhgzhg.tinydi.StartupReport;
+import com.github.zhgzhg.tinydi.TinyDI;
+import com.github.zhgzhg.tinydi.components.EntryPoint;
+import com.github.zhgzhg.tinydi.meta.annotations.Recorded;
+import com.github.zhgzhg.tinydi.meta.annotations.Registrar;
+import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StartupReportTest {
+
+    private static final long DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    @Registrar
+    public static class Settings {
+        @Recorded("greeting")
+        String greeting() {
+            return "hello";
+        }
+    }
+
+    @Supervised
+    public static class Slow {
+        @SneakyThrows
+        public Slow(String greeting) {
+            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(DELAY_NANOS));
+        }
+    }
+
+    @Supervised
+    public static class Main implements EntryPoint {
+        public Main(Slow slow) { }
+
+        @Override
+        @SneakyThrows
+        public void run() {
+            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(DELAY_NANOS));
+        }
+    }
+
+    private static StartupReport.ComponentTiming timingOf(StartupReport report, String componentName) {
+        return report.getComponents().stream()
+                .filter(timing -> componentName.equals(timing.getComponentName()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void startupReportShouldContainPhaseAndComponentTimings() {
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .configure();
+        tinyDI.run();
+
+        StartupReport report = tinyDI.startupReport();
+
+        assertTrue(report.getPhaseNanos(StartupReport.Phase.SCAN) + report.getPhaseNanos(StartupReport.Phase.DESCRIPTOR_LOAD) > 0);
+        assertTrue(report.getPhaseNanos(StartupReport.Phase.SUPERVISED) >= DELAY_NANOS);
+        assertTrue(report.getPhaseNanos(StartupReport.Phase.ENTRY_POINTS) >= DELAY_NANOS);
+        assertTrue(report.getTotalNanos() >= 2 * DELAY_NANOS);
+
+        StartupReport.ComponentTiming greeting = timingOf(report, "greeting");
+        assertEquals(Settings.class.getName() + "#greeting", greeting.getOrigin());
+        assertEquals(ScopeDI.SINGLETON, greeting.getScope());
+
+        StartupReport.ComponentTiming slow = timingOf(report, "Slow");
+        assertEquals(Slow.class.getName(), slow.getOrigin());
+        assertTrue(slow.getConstructionNanos() >= DELAY_NANOS);
+        assertEquals(0, slow.getEntryPointNanos());
+
+        StartupReport.ComponentTiming main = timingOf(report, "Main");
+        assertTrue(main.getEntryPointNanos() >= DELAY_NANOS);
+
+        List<StartupReport.ComponentTiming> slowest = report.slowestComponents(1);
+        assertEquals(1, slowest.size());
+        assertEquals("Slow", slowest.get(0).getComponentName());
+
+        String json = report.toJSON();
+        assertTrue(json.startsWith("{\"totalNanos\":" + report.getTotalNanos() + ",\"phases\":{\"RECORDS\":"));
+        assertTrue(json.contains("{\"componentName\":\"Slow\",\"origin\":\"" + Slow.class.getName() + "\",\"scope\":\"SINGLETON\","));
+        assertTrue(json.endsWith("]}"));
+
+        assertTrue(report.toString().contains("Slow (" + Slow.class.getName() + ", SINGLETON)"));
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.zhgzhg.tinydi.di_thread;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ThreadScopeTest {
+
+    @Supervised(scope = ScopeDI.THREAD)
+    public static class Parser {
+        public Parser() { }
+    }
+
+    @Supervised(scope = ScopeDI.PROTOTYPE)
+    public static class Request {
+        final Parser parser;
+
+        public Request(Parser parser) {
+            this.parser = parser;
+        }
+    }
+
+    @Test
+    void instancesAreConfinedToThreads() throws Exception {
+        TinyDI tinyDI = TinyDI.config()
+                .basePackages(this.getClass().getPackageName())
+                .configure();
+        tinyDI.run();
+
+        Object parser = tinyDI.componentFor(Parser.class);
+        assertNotNull(parser);
+        assertSame(parser, tinyDI.componentFor("Parser"));
+        assertSame(parser, ((Request) tinyDI.componentFor(Request.class)).parser);
+
+        Object otherThreadParser = CompletableFuture.supplyAsync(() -> tinyDI.componentFor(Parser.class)).get();
+        assertNotNull(otherThreadParser);
+        assertNotSame(parser, otherThreadParser);
+
+        tinyDI.evictThreadScopedComponents();
+        Object newParser = tinyDI.componentFor(Parser.class);
+        assertNotNull(newParser);
+        assertNotSame(parser, newParser);
+        assertSame(newParser, tinyDI.componentFor(Parser.class));
+    }
+}
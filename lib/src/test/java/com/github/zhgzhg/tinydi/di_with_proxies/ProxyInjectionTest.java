@@ -10,6 +10,7 @@ import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.lang.reflect.Proxy;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -97,4 +98,35 @@ public class ProxyInjectionTest {
         assertNull(tinyDI.instantiationStrategy(A.class));
         assertEquals(ScopeDI.SINGLETON, tinyDI.instantiationStrategy(Rcv.class));
     }
+
+    public interface Greeter {
+        String greet(String name, long times, double ratio);
+    }
+
+    public static class Hello implements Greeter {
+        @Override
+        public String greet(String name, long times, double ratio) {
+            return "Hello " + name + " " + times + " " + ratio;
+        }
+    }
+
+    @Test
+    void attachedRecordedAnnotationDelegatesDirectly() {
+        Hello hello = new Hello();
+
+        Object proxy = TinyDynamicDI.attachRecordedAnnotation(() -> hello, Hello.class,
+                new RecordedAnnotation("hello", ScopeDI.SINGLETON));
+
+        // hidden classes are available since Java 15, before that the reflective proxies are the fallback
+        assertEquals(Runtime.version().feature() < 15, Proxy.isProxyClass(proxy.getClass()));
+        assertEquals("Hello x 2 0.5", ((Greeter) proxy).greet("x", 2, 0.5));
+        assertEquals("hello", ((Recorded) proxy).value());
+        assertEquals(ScopeDI.SINGLETON, ((Recorded) proxy).scope());
+        assertEquals(Recorded.class, ((Recorded) proxy).annotationType());
+
+        assertSame(hello, TinyDynamicDI.realInstance(proxy));
+        assertEquals(Hello.class, TinyDynamicDI.realClass(proxy));
+        assertEquals(ScopeDI.SINGLETON, TinyDynamicDI.scopeOfProxy(proxy));
+        assertEquals(hello.hashCode(), proxy.hashCode());
+    }
 }
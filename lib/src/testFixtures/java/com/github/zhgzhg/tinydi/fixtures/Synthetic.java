@@ -0,0 +1,12 @@
+package com.github.zhgzhg.tinydi.fixtures;
+
+/**
+ * Contract implemented by all synthetic components, used to benchmark the lookups by interface.
+ */
+public interface Synthetic {
+    /**
+     * Returns the name the component is registered with.
+     * @return Nonnull name.
+     */
+    String name();
+}
@@ -0,0 +1,337 @@
+package com.github.zhgzhg.tinydi.fixtures;
+
+import com.github.zhgzhg.tinydi.TinyDI;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Synthetic classpath of @Supervised components, compiled from generated sources into temporary jars. The components, their
+ * dependencies, interfaces, and scopes are those of a {@link SyntheticGraph} generated with the same parameters. Every jar holds a
+ * package of <i>tinydi.synthetic</i>, so the whole classpath is scanned via that base package. The generation is deterministic for
+ * the same parameters.
+ * <p>
+ * Usage:
+ * <pre>
+ * try (SyntheticClasspath classpath = SyntheticClasspath.builder().components(1000).build()) {
+ *     TinyDI tinyDI = classpath.configure(TinyDI.config()).configure();
+ *     tinyDI.run();
+ * }
+ * </pre>
+ */
+public final class SyntheticClasspath implements AutoCloseable {
+
+    /** The base package of all generated components. */
+    public static final String BASE_PACKAGE = "tinydi.synthetic";
+
+    private final Path directory;
+    private final List<Path> jars;
+    private final URLClassLoader classLoader;
+    private final SyntheticGraph graph;
+
+    private SyntheticClasspath(Path directory, List<Path> jars, SyntheticGraph graph) {
+        this.directory = directory;
+        this.jars = jars;
+        this.graph = graph;
+
+        URL[] urls = jars.stream().map(jar -> {
+            try {
+                return jar.toUri().toURL();
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException(e);
+            }
+        }).toArray(URL[]::new);
+        this.classLoader = new URLClassLoader(urls, TinyDI.class.getClassLoader());
+    }
+
+    /**
+     * Creates a builder of synthetic classpaths.
+     * @return New builder with the default parameters.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the generated jars.
+     * @return Nonnull list.
+     */
+    public List<Path> getJars() {
+        return this.jars;
+    }
+
+    /**
+     * Returns the class loader of the generated jars.
+     * @return Class loader whose parent is TinyDI's one.
+     */
+    public ClassLoader getClassLoader() {
+        return this.classLoader;
+    }
+
+    /**
+     * Returns the count of the generated components.
+     * @return Positive number.
+     */
+    public int getComponents() {
+        return this.graph.size();
+    }
+
+    /**
+     * Returns the graph the components have been generated from.
+     * @return Nonnull graph.
+     */
+    public SyntheticGraph getGraph() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the binary name of a generated component class.
+     * @param index The index of the component, between 0 and {@link #getComponents()}.
+     * @param componentsPerJar The count of components per jar the classpath has been built with.
+     * @return Nonnull class name.
+     */
+    public static String componentClassName(int index, int componentsPerJar) {
+        return BASE_PACKAGE + ".j" + (index / componentsPerJar) + ".C" + index;
+    }
+
+    /**
+     * Configures TinyDI to scan only the generated jars, and to load the components with their class loader.
+     * @param config The configuration to complete.
+     * @return The passed configuration.
+     */
+    public TinyDI.Config configure(TinyDI.Config config) {
+        return config
+                .classLoader(this.classLoader)
+                .overrideClasspath(this.jars.stream().map(Path::toString).toArray(String[]::new))
+                .basePackages(BASE_PACKAGE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.classLoader.close();
+        try (Stream<Path> paths = Files.walk(this.directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * Builder of {@link SyntheticClasspath} instances.
+     */
+    public static final class Builder {
+        private final SyntheticGraph.Builder graph = SyntheticGraph.builder();
+        private int componentsPerJar = 50;
+
+        private Builder() { }
+
+        /**
+         * Sets the count of the components. See {@link SyntheticGraph.Builder#components(int)}.
+         * @param components Positive number. Default 100.
+         * @return The belonging builder.
+         */
+        public Builder components(int components) {
+            this.graph.components(components);
+            return this;
+        }
+
+        /**
+         * Sets the count of the layers of the graph. See {@link SyntheticGraph.Builder#depth(int)}.
+         * @param depth Positive number. Default 5.
+         * @return The belonging builder.
+         */
+        public Builder depth(int depth) {
+            this.graph.depth(depth);
+            return this;
+        }
+
+        /**
+         * Sets the maximum count of dependencies per component. See {@link SyntheticGraph.Builder#fanOut(int)}.
+         * @param fanOut Non-negative number. Default 3.
+         * @return The belonging builder.
+         */
+        public Builder fanOut(int fanOut) {
+            this.graph.fanOut(fanOut);
+            return this;
+        }
+
+        /**
+         * Sets the share of components injected via an interface. See {@link SyntheticGraph.Builder#interfaceRatio(double)}.
+         * @param interfaceRatio Number between 0 and 1. Default 0.25.
+         * @return The belonging builder.
+         */
+        public Builder interfaceRatio(double interfaceRatio) {
+            this.graph.interfaceRatio(interfaceRatio);
+            return this;
+        }
+
+        /**
+         * Sets the share of prototype components. See {@link SyntheticGraph.Builder#prototypeRatio(double)}.
+         * @param prototypeRatio Number between 0 and 1. Default 0.1.
+         * @return The belonging builder.
+         */
+        public Builder prototypeRatio(double prototypeRatio) {
+            this.graph.prototypeRatio(prototypeRatio);
+            return this;
+        }
+
+        /**
+         * Sets the count of components per jar, thus the count of jars.
+         * @param componentsPerJar Positive number. Default 50.
+         * @return The belonging builder.
+         */
+        public Builder componentsPerJar(int componentsPerJar) {
+            this.componentsPerJar = componentsPerJar;
+            return this;
+        }
+
+        /**
+         * Sets the seed of the random choices. See {@link SyntheticGraph.Builder#seed(long)}.
+         * @param seed Any number. Default 42.
+         * @return The belonging builder.
+         */
+        public Builder seed(long seed) {
+            this.graph.seed(seed);
+            return this;
+        }
+
+        /**
+         * Generates, compiles, and packages the components.
+         * @return New classpath, which must be closed to delete the jars.
+         * @throws IllegalArgumentException If the parameters are out of range.
+         * @throws IllegalStateException If no Java compiler is available, or the compilation fails.
+         */
+        public SyntheticClasspath build() {
+            if (this.componentsPerJar < 1) {
+                throw new IllegalArgumentException("Invalid synthetic classpath parameters!");
+            }
+            SyntheticGraph graph = this.graph.build();
+
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            if (compiler == null) {
+                throw new IllegalStateException("No Java compiler is available!");
+            }
+
+            try {
+                Path directory = Files.createTempDirectory("tinydi-synthetic");
+                Path sources = directory.resolve("src");
+                Path classes = directory.resolve("classes");
+                Files.createDirectories(classes);
+
+                List<File> sourceFiles = this.generate(sources, graph);
+                this.compile(compiler, sourceFiles, classes);
+
+                List<Path> jars = new ArrayList<>();
+                for (int jar = 0; jar * this.componentsPerJar < graph.size(); ++jar) {
+                    jars.add(pack(classes, "j" + jar, directory.resolve("synthetic-" + jar + ".jar")));
+                }
+
+                return new SyntheticClasspath(directory, jars, graph);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private List<File> generate(Path sources, SyntheticGraph graph) throws IOException {
+            List<File> result = new ArrayList<>();
+
+            for (int i = 0; i < graph.size(); ++i) {
+                String packageName = BASE_PACKAGE + ".j" + (i / this.componentsPerJar);
+                Path packageDir = sources.resolve(packageName.replace('.', File.separatorChar));
+                Files.createDirectories(packageDir);
+
+                boolean hasInterface = graph.hasInterface(i);
+                boolean prototype = graph.isPrototype(i);
+
+                List<String> parameters = new ArrayList<>();
+                for (int dependency : graph.dependenciesOf(i)) {
+                    parameters.add(graph.hasInterface(dependency)
+                            ? BASE_PACKAGE + ".j" + (dependency / this.componentsPerJar) + ".I" + dependency
+                            : componentClassName(dependency, this.componentsPerJar));
+                }
+
+                StringBuilder source = new StringBuilder()
+                        .append("package ").append(packageName).append(";\n\n")
+                        .append("@com.github.zhgzhg.tinydi.meta.annotations.Supervised")
+                        .append(prototype ? "(scope = com.github.zhgzhg.tinydi.meta.enums.ScopeDI.PROTOTYPE)" : "").append('\n')
+                        .append("public class C").append(i).append(hasInterface ? " implements I" + i : "").append(" {\n")
+                        .append("    private final Object[] dependencies;\n\n")
+                        .append("    public C").append(i).append('(');
+
+                for (int p = 0; p < parameters.size(); ++p) {
+                    source.append(p == 0 ? "" : ", ").append(parameters.get(p)).append(" d").append(p);
+                }
+
+                source.append(") {\n        this.dependencies = new Object[] { ");
+                for (int p = 0; p < parameters.size(); ++p) {
+                    source.append(p == 0 ? "" : ", ").append('d').append(p);
+                }
+                source.append(" };\n    }\n}\n");
+
+                result.add(write(packageDir.resolve("C" + i + ".java"), source.toString()));
+
+                if (hasInterface) {
+                    result.add(write(packageDir.resolve("I" + i + ".java"),
+                            "package " + packageName + ";\n\npublic interface I" + i + " { }\n"));
+                }
+            }
+
+            return result;
+        }
+
+        private void compile(JavaCompiler compiler, List<File> sourceFiles, Path classes) throws IOException {
+            try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+                Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(sourceFiles);
+                // TinyDI's own location covers the runners with custom class loaders, which don't extend java.class.path
+                String classpath = System.getProperty("java.class.path") + File.pathSeparator
+                        + new File(TinyDI.class.getProtectionDomain().getCodeSource().getLocation().getPath());
+
+                List<String> options = List.of("-proc:none", "-nowarn", "-d", classes.toString(), "-classpath", classpath);
+
+                if (!compiler.getTask(null, fileManager, null, options, null, units).call()) {
+                    throw new IllegalStateException("Compilation of the synthetic components failed!");
+                }
+            }
+        }
+
+        private static File write(Path file, String content) throws IOException {
+            Files.writeString(file, content, StandardCharsets.UTF_8);
+            return file.toFile();
+        }
+
+        private static Path pack(Path classes, String packageDirName, Path jar) throws IOException {
+            Path root = classes.resolve(BASE_PACKAGE.replace('.', File.separatorChar)).resolve(packageDirName);
+
+            try (OutputStream out = Files.newOutputStream(jar);
+                 JarOutputStream jarOut = new JarOutputStream(out);
+                 Stream<Path> files = Files.list(root)) {
+
+                for (Path file : files.sorted().collect(Collectors.toList())) {
+                    jarOut.putNextEntry(new JarEntry(classes.relativize(file).toString().replace(File.separatorChar, '/')));
+                    jarOut.write(Files.readAllBytes(file));
+                    jarOut.closeEntry();
+                }
+            }
+            return jar;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.zhgzhg.tinydi.fixtures;
+
+/**
+ * The class of all components in a {@link SyntheticGraph}. It only retains its dependencies, like a typical service would.
+ */
+public class SyntheticComponent implements Synthetic {
+    private final String name;
+    private final Object[] dependencies;
+
+    public SyntheticComponent(String name, Object[] dependencies) {
+        this.name = name;
+        this.dependencies = dependencies;
+    }
+
+    @Override
+    public String name() {
+        return this.name;
+    }
+
+    public Object[] getDependencies() {
+        return this.dependencies;
+    }
+}
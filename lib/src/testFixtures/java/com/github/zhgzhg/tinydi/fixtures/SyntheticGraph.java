@@ -0,0 +1,231 @@
+package com.github.zhgzhg.tinydi.fixtures;
+
+import com.github.zhgzhg.tinydi.build.ComponentIndex;
+import com.github.zhgzhg.tinydi.meta.descriptors.ComponentDescriptor;
+import com.github.zhgzhg.tinydi.meta.descriptors.InvokableDescriptor;
+import com.github.zhgzhg.tinydi.meta.descriptors.ParameterDescriptor;
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generator of synthetic, acyclic component graphs, allowing large applications to be tested and benchmarked without real ones. The
+ * components form layers, where each component depends on components of the previous layer. Some of the components are injected via
+ * an interface, and some are prototypes. The generation is deterministic for the same parameters.
+ * <p>
+ * The graph is a {@link ComponentIndex} too, describing the components the way the compile time index does, with direct factories
+ * instead of reflection, so it can be passed to TinyDI via <i>precompiledIndex(graph)</i>. In this form all components are instances
+ * of {@link SyntheticComponent}, wired via @KnownAs names, and the interfaces aren't generated. {@link SyntheticClasspath} compiles
+ * the same graph into real classes instead.
+ * <p>
+ * Usage:
+ * <pre>
+ * SyntheticGraph graph = SyntheticGraph.builder().components(1000).build();
+ * TinyDI tinyDI = TinyDI.config().precompiledIndex(graph).configure();
+ * tinyDI.run();
+ * </pre>
+ */
+public final class SyntheticGraph implements ComponentIndex {
+
+    private static final String CLASS_NAME = SyntheticComponent.class.getName();
+
+    private final int[][] dependencies;
+    private final boolean[] interfaces;
+    private final boolean[] prototypes;
+    private final List<ComponentDescriptor> components;
+
+    private SyntheticGraph(int[][] dependencies, boolean[] interfaces, boolean[] prototypes) {
+        this.dependencies = dependencies;
+        this.interfaces = interfaces;
+        this.prototypes = prototypes;
+
+        List<ComponentDescriptor> result = new ArrayList<>(dependencies.length);
+        for (int i = 0; i < dependencies.length; ++i) {
+            List<ParameterDescriptor> parameters = new ArrayList<>(dependencies[i].length);
+            for (int dependency : dependencies[i]) {
+                parameters.add(new ParameterDescriptor(CLASS_NAME, componentName(dependency)));
+            }
+
+            String name = componentName(i);
+            InvokableDescriptor constructor = new InvokableDescriptor(CLASS_NAME, InvokableDescriptor.CONSTRUCTOR_NAME, false,
+                    CLASS_NAME, parameters, name, (prototypes[i] ? ScopeDI.PROTOTYPE : ScopeDI.SINGLETON),
+                    args -> new SyntheticComponent(name, args));
+
+            result.add(new ComponentDescriptor(CLASS_NAME, ComponentDescriptor.Kind.SUPERVISED, constructor, Collections.emptyList()));
+        }
+        this.components = Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Creates a builder of synthetic graphs.
+     * @return New builder with the default parameters.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the name of a generated component.
+     * @param index The index of the component, between 0 and the size of the graph.
+     * @return Nonnull name.
+     */
+    public static String componentName(int index) {
+        return "synthetic" + index;
+    }
+
+    /**
+     * Returns the count of the components.
+     * @return Positive number.
+     */
+    public int size() {
+        return this.dependencies.length;
+    }
+
+    /**
+     * Returns the dependencies of a component.
+     * @param index The index of the component, between 0 and {@link #size()}.
+     * @return Nonnull array with the distinct indexes of the components it depends on.
+     */
+    public int[] dependenciesOf(int index) {
+        return this.dependencies[index].clone();
+    }
+
+    /**
+     * Checks if a component implements an interface, and is injected via it.
+     * @param index The index of the component, between 0 and {@link #size()}.
+     * @return True if it does, otherwise false.
+     */
+    public boolean hasInterface(int index) {
+        return this.interfaces[index];
+    }
+
+    /**
+     * Checks if a component is a {@link ScopeDI#PROTOTYPE}.
+     * @param index The index of the component, between 0 and {@link #size()}.
+     * @return True if it is, otherwise false.
+     */
+    public boolean isPrototype(int index) {
+        return this.prototypes[index];
+    }
+
+    @Override
+    public List<ComponentDescriptor> components() {
+        return this.components;
+    }
+
+    /**
+     * Builder of {@link SyntheticGraph} instances.
+     */
+    public static final class Builder {
+        private int components = 100;
+        private int depth = 5;
+        private int fanOut = 3;
+        private double interfaceRatio = 0.25;
+        private double prototypeRatio = 0.1;
+        private long seed = 42;
+
+        private Builder() { }
+
+        /**
+         * Sets the count of the components.
+         * @param components Positive number. Default 100.
+         * @return The belonging builder.
+         */
+        public Builder components(int components) {
+            this.components = components;
+            return this;
+        }
+
+        /**
+         * Sets the count of the layers of the graph, which is the length of the longest dependency chain.
+         * @param depth Positive number. Default 5.
+         * @return The belonging builder.
+         */
+        public Builder depth(int depth) {
+            this.depth = depth;
+            return this;
+        }
+
+        /**
+         * Sets the maximum count of dependencies per component.
+         * @param fanOut Non-negative number. Default 3.
+         * @return The belonging builder.
+         */
+        public Builder fanOut(int fanOut) {
+            this.fanOut = fanOut;
+            return this;
+        }
+
+        /**
+         * Sets the share of components which implement an interface, and are injected via it.
+         * @param interfaceRatio Number between 0 and 1. Default 0.25.
+         * @return The belonging builder.
+         */
+        public Builder interfaceRatio(double interfaceRatio) {
+            this.interfaceRatio = interfaceRatio;
+            return this;
+        }
+
+        /**
+         * Sets the share of prototype components.
+         * @param prototypeRatio Number between 0 and 1. Default 0.1.
+         * @return The belonging builder.
+         */
+        public Builder prototypeRatio(double prototypeRatio) {
+            this.prototypeRatio = prototypeRatio;
+            return this;
+        }
+
+        /**
+         * Sets the seed of the random choices.
+         * @param seed Any number. Default 42.
+         * @return The belonging builder.
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Generates the graph.
+         * @return New graph.
+         * @throws IllegalArgumentException If the parameters are out of range.
+         */
+        public SyntheticGraph build() {
+            if (this.components < 1 || this.depth < 1 || this.fanOut < 0
+                    || this.interfaceRatio < 0 || this.interfaceRatio > 1 || this.prototypeRatio < 0 || this.prototypeRatio > 1) {
+                throw new IllegalArgumentException("Invalid synthetic graph parameters!");
+            }
+
+            Random random = new Random(this.seed);
+            int layerSize = Math.max(1, (this.components + this.depth - 1) / this.depth);
+
+            int[][] dependencies = new int[this.components][];
+            boolean[] interfaces = new boolean[this.components];
+            boolean[] prototypes = new boolean[this.components];
+
+            for (int i = 0; i < this.components; ++i) {
+                interfaces[i] = random.nextDouble() < this.interfaceRatio;
+                prototypes[i] = random.nextDouble() < this.prototypeRatio;
+
+                // dependencies only on the previous layer keep the graph acyclic
+                int layer = i / layerSize;
+                Set<Integer> chosen = new LinkedHashSet<>();
+                if (layer > 0) {
+                    int previousStart = (layer - 1) * layerSize;
+                    for (int j = 0; j < this.fanOut; ++j) {
+                        chosen.add(previousStart + random.nextInt(layerSize));
+                    }
+                }
+                dependencies[i] = chosen.stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            return new SyntheticGraph(dependencies, interfaces, prototypes);
+        }
+    }
+}
@@ -0,0 +1,546 @@
+package com.github.zhgzhg.tinydi.build.processor;
+
+import com.github.zhgzhg.tinydi.build.ComponentIndex;
+import com.github.zhgzhg.tinydi.meta.annotations.KnownAs;
+import com.github.zhgzhg.tinydi.meta.annotations.Recorded;
+import com.github.zhgzhg.tinydi.meta.annotations.Registrar;
+import com.github.zhgzhg.tinydi.meta.annotations.Supervised;
+import com.github.zhgzhg.tinydi.meta.descriptors.ComponentDescriptor;
+import com.github.zhgzhg.tinydi.meta.descriptors.InvokableDescriptor;
+import com.github.zhgzhg.tinydi.meta.descriptors.ParameterDescriptor;
+import com.github.zhgzhg.tinydi.meta.enums.ScopeDI;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.ModuleElement;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Generates at compile time a {@link ComponentIndex} implementation for every package containing @{@link Registrar} or
+ * @{@link Supervised} classes. The generated indexes contain the same information TinyDI extracts during classpath scanning, together
+ * with direct, reflection-free factories for every accessible constructor and @{@link Recorded} method. The indexes are registered in
+ * <i>META-INF/services</i>, so they can be loaded with {@link com.github.zhgzhg.tinydi.TinyDI.Config#precompiledIndex()}.
+ * <p>
+ * Like the classpath scanning, the indexes describe as {@link ComponentDescriptor.Kind#DEPENDENCY dependencies} the unannotated
+ * concrete classes compiled together with the components, which their constructors depend on directly or through other such classes.
+ * <p>
+ * The simple name of the generated classes can be changed via the <i>tinydi.indexClassName</i> processor option.
+ */
+public class ComponentIndexProcessor extends AbstractProcessor {
+
+    /** The processor option specifying the simple name of the generated index classes. */
+    public static final String INDEX_CLASS_NAME_OPTION = "tinydi.indexClassName";
+
+    /** The default simple name of the generated index classes. */
+    public static final String DEFAULT_INDEX_CLASS_NAME = "TinyDIComponentIndex";
+
+    private static final String SERVICE_FILE = "META-INF/services/" + ComponentIndex.class.getName();
+
+    private static final String GENERATED_ANNOTATION_NAME = "javax.annotation.processing.Generated";
+
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+    private String indexClassName;
+
+    private final Set<String> generatedIndexes = new LinkedHashSet<>();
+    private final Set<String> describedDependencies = new HashSet<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+
+        String option = processingEnv.getOptions().get(INDEX_CLASS_NAME_OPTION);
+        this.indexClassName = (option == null || option.isBlank() ? DEFAULT_INDEX_CLASS_NAME : option.trim());
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(Registrar.class.getCanonicalName(), Supervised.class.getCanonicalName(), Recorded.class.getCanonicalName(),
+                KnownAs.class.getCanonicalName());
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Set.of(INDEX_CLASS_NAME_OPTION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (!this.generatedIndexes.isEmpty()) {
+                this.writeServiceFile();
+            }
+            return false;
+        }
+
+        this.verifyRecords(roundEnv);
+
+        List<TypeElement> components = new ArrayList<>();
+        for (Class<? extends java.lang.annotation.Annotation> annotation : List.of(Registrar.class, Supervised.class)) {
+            components.addAll(ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation)));
+        }
+
+        // the appended dependencies are visited too, so their own dependencies get described
+        Set<TypeElement> compiledTypes = new HashSet<>();
+        this.collectTypes(ElementFilter.typesIn(roundEnv.getRootElements()), compiledTypes);
+        for (int i = 0; i < components.size(); ++i) {
+            ExecutableElement constructor = this.selectTheEasiestConstructor(components.get(i));
+            if (constructor == null) {
+                continue;
+            }
+
+            for (VariableElement param : constructor.getParameters()) {
+                TypeElement dependency = this.dependencyOf(param.asType(), compiledTypes);
+                if (dependency != null && this.describedDependencies.add(this.elements.getBinaryName(dependency).toString())) {
+                    components.add(dependency);
+                }
+            }
+        }
+
+        Map<String, List<TypeElement>> componentsByPackage = new TreeMap<>();
+        for (TypeElement typeElement : components) {
+            String packageName = this.elements.getPackageOf(typeElement).getQualifiedName().toString();
+            componentsByPackage.computeIfAbsent(packageName, key -> new ArrayList<>()).add(typeElement);
+        }
+
+        for (Map.Entry<String, List<TypeElement>> entry : componentsByPackage.entrySet()) {
+            this.writeIndex(entry.getKey(), entry.getValue());
+        }
+
+        return false;
+    }
+
+    private void collectTypes(Iterable<TypeElement> typeElements, Set<TypeElement> result) {
+        for (TypeElement typeElement : typeElements) {
+            if (result.add(typeElement)) {
+                this.collectTypes(ElementFilter.typesIn(typeElement.getEnclosedElements()), result);
+            }
+        }
+    }
+
+    /**
+     * Returns the unannotated, concrete class compiled in the current round, which can be instantiated on demand for a constructor
+     * parameter of the specified type, or null if there's no such.
+     */
+    private TypeElement dependencyOf(TypeMirror type, Set<TypeElement> compiledTypes) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        TypeElement typeElement = (TypeElement) ((DeclaredType) type).asElement();
+        if (typeElement.getKind() != ElementKind.CLASS || typeElement.getModifiers().contains(Modifier.ABSTRACT)
+                || !compiledTypes.contains(typeElement)
+                || typeElement.getAnnotation(Registrar.class) != null || typeElement.getAnnotation(Supervised.class) != null) {
+            return null;
+        }
+
+        boolean isStaticOrTopLevel = (typeElement.getNestingKind() == NestingKind.TOP_LEVEL
+                || (typeElement.getNestingKind() == NestingKind.MEMBER && typeElement.getModifiers().contains(Modifier.STATIC)));
+
+        return (isStaticOrTopLevel && this.selectTheEasiestConstructor(typeElement) != null ? typeElement : null);
+    }
+
+    private static ComponentDescriptor.Kind kindOf(TypeElement typeElement) {
+        if (typeElement.getAnnotation(Registrar.class) != null) {
+            return ComponentDescriptor.Kind.REGISTRAR;
+        }
+        return (typeElement.getAnnotation(Supervised.class) != null
+                ? ComponentDescriptor.Kind.SUPERVISED : ComponentDescriptor.Kind.DEPENDENCY);
+    }
+
+    private void verifyRecords(RoundEnvironment roundEnv) {
+        for (ExecutableElement method : ElementFilter.methodsIn(roundEnv.getElementsAnnotatedWith(Recorded.class))) {
+            if (method.getEnclosingElement().getAnnotation(Registrar.class) == null) {
+                continue;
+            }
+
+            if (method.getModifiers().contains(Modifier.STATIC)) {
+                this.messager.printMessage(Diagnostic.Kind.ERROR, "@Recorded annotating static method", method);
+            }
+
+            if (method.getReturnType().getKind() == TypeKind.VOID) {
+                this.messager.printMessage(Diagnostic.Kind.ERROR, "@Recorded annotating method with void return type", method);
+            }
+
+            if (!method.getParameters().isEmpty()) {
+                this.messager.printMessage(Diagnostic.Kind.ERROR, "@Recorded method is accepting parameters", method);
+            }
+        }
+    }
+
+    private void writeIndex(String packageName, List<TypeElement> components) {
+        String simpleName = this.indexClassName;
+        String qualifiedName = (packageName.isEmpty() ? simpleName : packageName + "." + simpleName);
+
+        // a package may receive components in a later round too, for e.g. from generated sources
+        for (int i = 2; this.generatedIndexes.contains(qualifiedName); ++i) {
+            simpleName = this.indexClassName + i;
+            qualifiedName = (packageName.isEmpty() ? simpleName : packageName + "." + simpleName);
+        }
+
+        components.sort(Comparator
+                .comparing(ComponentIndexProcessor::kindOf)
+                .thenComparing(typeElement -> this.elements.getBinaryName(typeElement).toString()));
+
+        PackageElement packageElement = this.elements.getPackageElement(packageName);
+
+        try (PrintWriter out = new PrintWriter(this.filer.createSourceFile(qualifiedName, components.toArray(new Element[0]))
+                .openWriter())) {
+
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+
+            if (this.isGeneratedAnnotationVisible(packageElement)) {
+                out.println("@" + GENERATED_ANNOTATION_NAME + "(\"" + this.getClass().getName() + "\")");
+            }
+            out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+            out.println("public final class " + simpleName + " implements " + ComponentIndex.class.getCanonicalName() + " {");
+            out.println();
+            out.println("    private static final java.util.List<" + ComponentDescriptor.class.getCanonicalName()
+                    + "> COMPONENTS = java.util.List.of(");
+            out.println(components.stream()
+                    .map(typeElement -> this.componentSource(typeElement, packageElement))
+                    .collect(Collectors.joining(",\n")));
+            out.println("    );");
+            out.println();
+            out.println("    @Override");
+            out.println("    public java.util.List<" + ComponentDescriptor.class.getCanonicalName() + "> components() {");
+            out.println("        return COMPONENTS;");
+            out.println("    }");
+            out.println("}");
+
+        } catch (IOException e) {
+            this.messager.printMessage(Diagnostic.Kind.ERROR, "Cannot generate " + qualifiedName + ": " + e.getMessage());
+            return;
+        }
+
+        this.generatedIndexes.add(qualifiedName);
+    }
+
+    /**
+     * Checks if the generated index can be annotated with @Generated. The annotation is missing from android.jar, and named modules
+     * see it only if they require the java.compiler module.
+     * @param packageElement The package of the generated index.
+     * @return True if the annotation is accessible from the package, otherwise false.
+     */
+    private boolean isGeneratedAnnotationVisible(PackageElement packageElement) {
+        if (this.elements.getTypeElement(GENERATED_ANNOTATION_NAME) == null) {
+            return false;
+        }
+
+        ModuleElement module = this.elements.getModuleOf(packageElement);
+        if (module == null || module.isUnnamed()) {
+            return true;
+        }
+
+        return ElementFilter.requiresIn(module.getDirectives()).stream()
+                .anyMatch(requires -> requires.getDependency().getQualifiedName().contentEquals("java.compiler"));
+    }
+
+    private void writeServiceFile() {
+        try {
+            FileObject file = this.filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = file.openWriter()) {
+                for (String service : this.generatedIndexes) {
+                    writer.write(service);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            this.messager.printMessage(Diagnostic.Kind.ERROR, "Cannot write " + SERVICE_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private String componentSource(TypeElement typeElement, PackageElement packageElement) {
+        ComponentDescriptor.Kind kind = kindOf(typeElement);
+        boolean isRegistrar = (kind == ComponentDescriptor.Kind.REGISTRAR);
+
+        ExecutableElement constructor = this.selectTheEasiestConstructor(typeElement);
+
+        List<String> records = new ArrayList<>();
+        if (isRegistrar) {
+            for (ExecutableElement method : ElementFilter.methodsIn(typeElement.getEnclosedElements())) {
+                if (method.getAnnotation(Recorded.class) != null) {
+                    records.add(this.invokableSource(typeElement, method, packageElement));
+                }
+            }
+        }
+
+        return "        new " + ComponentDescriptor.class.getCanonicalName() + "("
+                + literal(this.elements.getBinaryName(typeElement).toString()) + ", "
+                + ComponentDescriptor.Kind.class.getCanonicalName() + "." + kind + ",\n"
+                + "            " + (constructor == null ? "null" : this.invokableSource(typeElement, constructor, packageElement)) + ",\n"
+                + "            java.util.List.of(" + (records.isEmpty() ? "" : "\n                "
+                + String.join(",\n                ", records)) + "))";
+    }
+
+    private String invokableSource(TypeElement typeElement, ExecutableElement executable, PackageElement packageElement) {
+        boolean isConstructor = (executable.getKind() == ElementKind.CONSTRUCTOR);
+        boolean isInner = (isConstructor && typeElement.getNestingKind() == NestingKind.MEMBER
+                && !typeElement.getModifiers().contains(Modifier.STATIC));
+
+        List<String> parameters = new ArrayList<>();
+        List<TypeMirror> parameterTypes = new ArrayList<>();
+
+        if (isInner) {
+            // the synthetic outer instance parameter, as seen in the bytecode
+            TypeMirror outerType = this.types.erasure(typeElement.getEnclosingElement().asType());
+            parameters.add(this.parameterSource(outerType, null));
+            parameterTypes.add(outerType);
+        }
+
+        for (VariableElement param : executable.getParameters()) {
+            KnownAs knownAs = param.getAnnotation(KnownAs.class);
+            parameters.add(this.parameterSource(param.asType(), (knownAs == null ? null : knownAs.value())));
+            parameterTypes.add(param.asType());
+        }
+
+        String componentName;
+        ScopeDI scope;
+        String resultTypeName;
+
+        if (isConstructor) {
+            Registrar registrar = typeElement.getAnnotation(Registrar.class);
+            Supervised supervised = typeElement.getAnnotation(Supervised.class);
+            componentName = (registrar != null ? registrar.value() : (supervised != null ? supervised.value() : ""));
+            scope = (supervised != null ? supervised.scope() : ScopeDI.SINGLETON);
+            resultTypeName = this.elements.getBinaryName(typeElement).toString();
+
+            if (componentName.isBlank()) {
+                componentName = typeElement.getSimpleName().toString();
+            }
+        } else {
+            Recorded recorded = executable.getAnnotation(Recorded.class);
+            componentName = (recorded.value().isBlank() ? executable.getSimpleName().toString() : recorded.value());
+            scope = recorded.scope();
+            resultTypeName = this.binaryName(executable.getReturnType());
+        }
+
+        return "new " + InvokableDescriptor.class.getCanonicalName() + "("
+                + literal(this.elements.getBinaryName(typeElement).toString()) + ", "
+                + literal(isConstructor ? InvokableDescriptor.CONSTRUCTOR_NAME : executable.getSimpleName().toString()) + ", "
+                + executable.getModifiers().contains(Modifier.STATIC) + ", "
+                + literal(resultTypeName) + ", "
+                + "java.util.List.of(" + String.join(", ", parameters) + "), "
+                + literal(componentName) + ", "
+                + ScopeDI.class.getCanonicalName() + "." + scope + ", "
+                + this.factorySource(typeElement, executable, isInner, parameterTypes, packageElement) + ")";
+    }
+
+    private String parameterSource(TypeMirror type, String knownAs) {
+        List<String> typeArguments = new ArrayList<>();
+        if (type.getKind() == TypeKind.DECLARED) {
+            for (TypeMirror typeArgument : ((DeclaredType) type).getTypeArguments()) {
+                typeArguments.add(literal(this.typeArgumentName(typeArgument)));
+            }
+        }
+
+        return "new " + ParameterDescriptor.class.getCanonicalName() + "(" + literal(this.binaryName(type)) + ", "
+                + (knownAs == null ? "null" : literal(knownAs))
+                + (typeArguments.isEmpty() ? "" : ", java.util.List.of(" + String.join(", ", typeArguments) + ")") + ")";
+    }
+
+    /**
+     * Returns the binary name of a type argument's erasure. Wildcards are described by their upper bound.
+     */
+    private String typeArgumentName(TypeMirror typeArgument) {
+        if (typeArgument.getKind() == TypeKind.WILDCARD) {
+            TypeMirror extendsBound = ((WildcardType) typeArgument).getExtendsBound();
+            return (extendsBound == null ? Object.class.getName() : this.binaryName(extendsBound));
+        }
+        return this.binaryName(typeArgument);
+    }
+
+    /**
+     * Generates a lambda directly invoking the constructor or method, whose arguments are the receiver (if any) followed by the
+     * parameter values, or "null" if such cannot be invoked from the generated index.
+     */
+    private String factorySource(TypeElement typeElement, ExecutableElement executable, boolean isInner, List<TypeMirror> parameterTypes,
+            PackageElement packageElement) {
+
+        if (!this.isAccessible(executable, packageElement) || !this.isAccessible(typeElement, packageElement)
+                || parameterTypes.stream().anyMatch(type -> !this.isAccessible(type, packageElement))
+                || executable.getModifiers().contains(Modifier.STATIC)) {
+            return "null";
+        }
+
+        List<String> arguments = new ArrayList<>();
+        int firstParameter = (isInner || executable.getKind() == ElementKind.METHOD ? 1 : 0);
+        for (int i = firstParameter; i < parameterTypes.size(); ++i) {
+            arguments.add("(" + this.castName(parameterTypes.get(i)) + ") args[" + i + "]");
+        }
+        String argumentList = "(" + String.join(", ", arguments) + ")";
+
+        if (executable.getKind() == ElementKind.METHOD) {
+            return "args -> ((" + this.castName(this.types.erasure(typeElement.asType())) + ") args[0])."
+                    + executable.getSimpleName() + argumentList;
+        }
+
+        if (isInner) {
+            return "args -> ((" + this.castName(parameterTypes.get(0)) + ") args[0]).new " + typeElement.getSimpleName() + argumentList;
+        }
+
+        return "args -> new " + typeElement.getQualifiedName() + argumentList;
+    }
+
+    private ExecutableElement selectTheEasiestConstructor(TypeElement typeElement) {
+        return ElementFilter.constructorsIn(typeElement.getEnclosedElements()).stream()
+                .filter(ctor -> {
+                    // public or package private constructor
+
+                    Set<Modifier> modifiers = ctor.getModifiers();
+                    return modifiers.contains(Modifier.PUBLIC)
+                            || !(modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.PROTECTED));
+                })
+                .min(Comparator.comparingInt(ctor -> ctor.getParameters().size()))
+                .orElse(null);
+    }
+
+    private boolean isAccessible(TypeMirror type, PackageElement packageElement) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return this.isAccessible(((ArrayType) type).getComponentType(), packageElement);
+        }
+
+        TypeMirror erasure = this.types.erasure(type);
+        if (erasure.getKind() == TypeKind.DECLARED) {
+            return this.isAccessible(((DeclaredType) erasure).asElement(), packageElement);
+        }
+
+        return erasure.getKind().isPrimitive();
+    }
+
+    /**
+     * Checks if an element, and all the types enclosing it, can be referenced from the specified package.
+     */
+    private boolean isAccessible(Element element, PackageElement packageElement) {
+        for (Element current = element; current != null && current.getKind() != ElementKind.PACKAGE;
+                current = current.getEnclosingElement()) {
+
+            Set<Modifier> modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+
+            if (!modifiers.contains(Modifier.PUBLIC) && !this.elements.getPackageOf(current).equals(packageElement)) {
+                return false;
+            }
+
+            if (current instanceof TypeElement && ((TypeElement) current).getNestingKind() != NestingKind.TOP_LEVEL
+                    && ((TypeElement) current).getNestingKind() != NestingKind.MEMBER) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the source code name of a type's erasure. Unlike {@link TypeMirror#toString()} it never includes type-use annotations.
+     */
+    private String castName(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return this.castName(((ArrayType) type).getComponentType()) + "[]";
+        }
+
+        TypeMirror erasure = this.types.erasure(type);
+        if (erasure.getKind() == TypeKind.DECLARED) {
+            return ((TypeElement) ((DeclaredType) erasure).asElement()).getQualifiedName().toString();
+        }
+
+        return erasure.getKind().name().toLowerCase();
+    }
+
+    /**
+     * Returns the binary name of a type's erasure as returned by {@link Class#getName()}.
+     */
+    private String binaryName(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return "[" + this.arrayElementDescriptor(((ArrayType) type).getComponentType());
+        }
+
+        TypeMirror erasure = this.types.erasure(type);
+        if (erasure.getKind() == TypeKind.DECLARED) {
+            return this.elements.getBinaryName((TypeElement) ((DeclaredType) erasure).asElement()).toString();
+        }
+
+        return erasure.getKind().name().toLowerCase();
+    }
+
+    private String arrayElementDescriptor(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return "[" + this.arrayElementDescriptor(((ArrayType) type).getComponentType());
+        }
+
+        switch (type.getKind()) {
+            case BOOLEAN: return "Z";
+            case BYTE: return "B";
+            case CHAR: return "C";
+            case SHORT: return "S";
+            case INT: return "I";
+            case LONG: return "J";
+            case FLOAT: return "F";
+            case DOUBLE: return "D";
+            default: return "L" + this.binaryName(type) + ";";
+        }
+    }
+
+    private static String literal(String value) {
+        StringBuilder result = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                result.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                result.append(String.format("\\u%04x", (int) c));
+            } else {
+                result.append(c);
+            }
+        }
+        return result.append('"').toString();
+    }
+}
@@ -0,0 +1,2 @@
+/** Compile-time generation of TinyDI's component indexes. */
+package com.github.zhgzhg.tinydi.build.processor;